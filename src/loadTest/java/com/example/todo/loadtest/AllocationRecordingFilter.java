@@ -0,0 +1,53 @@
+package com.example.todo.loadtest;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// 부하 테스트 중 요청 처리 스레드가 할당한 메모리를 엔드포인트별로 모음
+// (서버 쪽 처리만 - 필터 체인 전체가 요청 스레드에서 돌기 때문에 스레드 할당량 차이로 잴 수 있음)
+@Component
+@Profile("loadtest")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AllocationRecordingFilter extends OncePerRequestFilter {
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final Map<String, LongAdder> allocatedBytes = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+            allocatedBytes.computeIfAbsent(LoadTestRunner.label(request.getMethod(), request.getRequestURI()),
+                    k -> new LongAdder()).add(allocated);
+        }
+    }
+
+    public long allocatedBytes(String label) {
+        LongAdder adder = allocatedBytes.get(label);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    public void reset() {
+        allocatedBytes.clear();
+    }
+}
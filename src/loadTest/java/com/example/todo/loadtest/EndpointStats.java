@@ -0,0 +1,49 @@
+package com.example.todo.loadtest;
+
+import java.util.Arrays;
+
+// 엔드포인트 하나의 응답시간 기록 (마이크로초)
+public class EndpointStats {
+
+    private long[] latencies = new long[1 << 16];
+    private int count;
+    private int errors;
+
+    public synchronized void record(long latencyMicros, boolean success) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyMicros;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    public synchronized void reset() {
+        count = 0;
+        errors = 0;
+    }
+
+    public synchronized int getCount() {
+        return count;
+    }
+
+    public synchronized int getErrors() {
+        return errors;
+    }
+
+    // 정렬된 복사본 (리포트 낼 때 한번만)
+    public synchronized long[] sortedLatencies() {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    public static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+}
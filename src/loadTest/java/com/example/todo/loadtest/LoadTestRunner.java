@@ -0,0 +1,250 @@
+package com.example.todo.loadtest;
+
+import com.example.todo.TodoApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 부하 테스트 실행기 (./gradlew loadTest)
+// 1. 앱을 loadtest 프로필(H2 MariaDB 모드 + 로컬 저장소)로 같은 JVM에 띄움
+// 2. 가상 사용자마다 가입 후 [목록 -> 등록 -> 완료 -> 목록 -> 삭제]를 반복 (10번에 1번은 다시 로그인)
+// 3. 워밍업 구간은 버리고, 측정 구간의 엔드포인트별 처리량/지연시간 퍼센타일/할당량을 출력
+public class LoadTestRunner {
+
+    static final String SIGNIN = "POST /api/auth/signin";
+    static final String LIST = "GET /api/todos";
+    static final String CREATE = "POST /api/todos";
+    static final String TOGGLE = "PATCH /api/todos";
+    static final String DELETE = "DELETE /api/todos/{id}";
+
+    private static final List<String> MEASURED = List.of(SIGNIN, LIST, CREATE, TOGGLE, DELETE);
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private final AtomicBoolean running = new AtomicBoolean(true);
+    private final String baseUrl;
+
+    LoadTestRunner(int port) {
+        this.baseUrl = "http://localhost:" + port;
+        MEASURED.forEach(label -> stats.put(label, new EndpointStats()));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TodoApplication.class)
+                .profiles("loadtest")
+                .run("--server.port=0");
+        try {
+            Environment env = context.getEnvironment();
+            int users = Integer.parseInt(options.getOrDefault("users", env.getProperty("loadtest.users", "50")));
+            int warmup = Integer.parseInt(options.getOrDefault("warmup", env.getProperty("loadtest.warmup-seconds", "10")));
+            int duration = Integer.parseInt(options.getOrDefault("duration", env.getProperty("loadtest.duration-seconds", "60")));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            new LoadTestRunner(port).run(users, warmup, duration, context.getBean(AllocationRecordingFilter.class));
+        } finally {
+            context.close();
+        }
+    }
+
+    // 엔드포인트 이름 (서버 쪽 할당량 필터와 같은 이름을 써야 합쳐짐)
+    static String label(String method, String uri) {
+        if (uri.startsWith("/api/todos/") && "DELETE".equals(method)) {
+            return DELETE;
+        }
+        return method + " " + uri;
+    }
+
+    void run(int users, int warmupSeconds, int durationSeconds, AllocationRecordingFilter allocations)
+            throws InterruptedException {
+        System.out.printf("부하 테스트 시작 - 가상 사용자 %d명, 워밍업 %ds, 측정 %ds%n", users, warmupSeconds, durationSeconds);
+
+        CountDownLatch done = new CountDownLatch(users);
+        for (int i = 0; i < users; i++) {
+            int userNo = i;
+            Thread t = new Thread(() -> {
+                try {
+                    virtualUser(userNo);
+                } catch (Exception e) {
+                    System.out.printf("가상 사용자 %d 중단 - %s%n", userNo, e);
+                } finally {
+                    done.countDown();
+                }
+            }, "vu-" + i);
+            t.setDaemon(true);
+            t.start();
+        }
+
+        Thread.sleep(warmupSeconds * 1000L);
+        stats.values().forEach(EndpointStats::reset);
+        allocations.reset();
+        long start = System.nanoTime();
+
+        Thread.sleep(durationSeconds * 1000L);
+        running.set(false);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        done.await();
+
+        report(elapsedSeconds, allocations);
+    }
+
+    private void virtualUser(int userNo) throws Exception {
+        String email = "load" + userNo + "@test.com";
+        String password = "password" + userNo;
+        signUp(email, password);
+        String token = signIn(email, password);
+
+        Set<String> knownIds = new HashSet<>();
+        int iteration = 0;
+        while (running.get()) {
+            if (++iteration % 10 == 0) {
+                token = signIn(email, password);
+            }
+            knownIds = ids(send(LIST, token, get("/api/todos")));
+
+            JsonNode created = send(CREATE, token, post("/api/todos",
+                    "{\"title\":\"할일" + (iteration % 1000) + "\"}"));
+            Set<String> afterCreate = ids(created);
+            afterCreate.removeAll(knownIds);
+            if (afterCreate.isEmpty()) {
+                continue; // 등록 실패 (에러로 집계됨)
+            }
+            String todoId = afterCreate.iterator().next();
+
+            send(TOGGLE, token, request("/api/todos")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"id\":\"" + todoId + "\",\"done\":true}"))
+                    .header("Content-Type", "application/json"));
+            send(LIST, token, get("/api/todos"));
+            send(DELETE, token, request("/api/todos/" + todoId).DELETE());
+
+            // 사람처럼 약간 쉬었다가 (모두가 같은 박자로 몰리지 않게)
+            Thread.sleep(ThreadLocalRandom.current().nextInt(5, 20));
+        }
+    }
+
+    private void signUp(String email, String password) throws Exception {
+        String boundary = "----loadtest" + UUID.randomUUID();
+        String user = "{\"email\":\"" + email + "\",\"password\":\"" + password + "\",\"userName\":\"부하\"}";
+        String body = "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"user\"\r\n"
+                + "Content-Type: application/json\r\n\r\n"
+                + user + "\r\n"
+                + "--" + boundary + "--\r\n";
+        HttpResponse<String> response = http.send(request("/api/auth")
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("가입 실패 - " + response.statusCode() + " " + response.body());
+        }
+    }
+
+    private String signIn(String email, String password) throws Exception {
+        JsonNode response = send(SIGNIN, null, post("/api/auth/signin",
+                "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}"));
+        if (response == null || !response.hasNonNull("token")) {
+            throw new IllegalStateException("로그인 실패");
+        }
+        return response.get("token").asText();
+    }
+
+    // 요청 하나를 보내고 시간을 잼 (2xx가 아니면 에러로 집계)
+    private JsonNode send(String label, String token, HttpRequest.Builder builder) throws Exception {
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response = http.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        long micros = (System.nanoTime() - start) / 1000;
+
+        boolean success = response.statusCode() / 100 == 2;
+        stats.get(label).record(micros, success);
+        if (!success || response.body().length == 0) {
+            return null;
+        }
+        return mapper.readTree(response.body());
+    }
+
+    private Set<String> ids(JsonNode list) {
+        Set<String> ids = new HashSet<>();
+        if (list != null && list.has("todos")) {
+            list.get("todos").forEach(todo -> ids.add(todo.get("id").asText()));
+        }
+        return ids;
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(10));
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return request(path).GET();
+    }
+
+    private HttpRequest.Builder post(String path, String json) {
+        return request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json, StandardCharsets.UTF_8));
+    }
+
+    private void report(double elapsedSeconds, AllocationRecordingFilter allocations) {
+        System.out.println();
+        System.out.printf("측정 시간 %.1fs%n", elapsedSeconds);
+        System.out.printf("%-26s %9s %9s %7s %9s %9s %9s %9s %12s %10s%n",
+                "endpoint", "count", "req/s", "errors", "p50(ms)", "p90(ms)", "p99(ms)", "max(ms)", "alloc/req", "alloc MB/s");
+
+        long totalCount = 0;
+        long totalAllocated = 0;
+        for (String label : MEASURED) {
+            EndpointStats endpoint = stats.get(label);
+            long[] sorted = endpoint.sortedLatencies();
+            int count = sorted.length;
+            long allocated = allocations.allocatedBytes(label);
+            totalCount += count;
+            totalAllocated += allocated;
+
+            System.out.printf("%-26s %9d %9.1f %7d %9.2f %9.2f %9.2f %9.2f %9.1f KB %10.1f%n",
+                    label, count, count / elapsedSeconds, endpoint.getErrors(),
+                    EndpointStats.percentile(sorted, 50) / 1000.0,
+                    EndpointStats.percentile(sorted, 90) / 1000.0,
+                    EndpointStats.percentile(sorted, 99) / 1000.0,
+                    (count == 0 ? 0 : sorted[count - 1]) / 1000.0,
+                    count == 0 ? 0 : allocated / 1024.0 / count,
+                    allocated / 1024.0 / 1024.0 / elapsedSeconds);
+        }
+        System.out.printf("%-26s %9d %9.1f %49s %10.1f%n", "total", totalCount, totalCount / elapsedSeconds, "",
+                totalAllocated / 1024.0 / 1024.0 / elapsedSeconds);
+    }
+
+    // "users=100 duration=60" 형식의 실행 인자
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                options.put(arg.substring(0, eq).replaceFirst("^--", ""), arg.substring(eq + 1));
+            }
+        }
+        return options;
+    }
+}
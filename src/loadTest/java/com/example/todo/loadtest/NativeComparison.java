@@ -0,0 +1,139 @@
+package com.example.todo.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.*;
+
+// JVM 빌드(bootJar)와 네이티브 빌드를 같은 설정으로 띄워서 기동 시간과 메모리(RSS)를 비교 (./gradlew -Pnative nativeCompare)
+// - 기동 시간: 프로세스 시작부터 /actuator/health (관리 포트 = port + 1) 가 200을 줄 때까지 (JVM은 클래스 로딩/JIT 전 구간 포함)
+// - RSS: 뜬 직후, 가벼운 요청을 돌린 후 두 번 (/proc/{pid}/status 의 VmRSS - 리눅스 전용)
+// 앱이 평소처럼 DB(MariaDB)에 붙어야 뜨니까 DB를 켜두고 실행
+public class NativeComparison {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                options.put(arg.substring(0, eq), arg.substring(eq + 1));
+            }
+        }
+        int runs = Integer.parseInt(options.getOrDefault("runs", "3"));
+        int requests = Integer.parseInt(options.getOrDefault("requests", "2000"));
+        int port = Integer.parseInt(options.getOrDefault("port", "18181"));
+        String profiles = options.getOrDefault("profiles", "prod");
+
+        String jar = System.getProperty("compare.jar");
+        String executable = System.getProperty("compare.native");
+        Map<String, List<String>> builds = new LinkedHashMap<>();
+        if (exists(jar)) {
+            builds.put("jvm", List.of(javaBin(), "-jar", jar,
+                    "--server.port=" + port, "--management.server.port=" + (port + 1)
+                    , "--spring.profiles.active=" + profiles));
+        } else {
+            System.out.println("bootJar 결과가 없음 - " + jar);
+        }
+        if (exists(executable)) {
+            builds.put("native", List.of(executable,
+                    "--server.port=" + port, "--management.server.port=" + (port + 1)
+                    , "--spring.profiles.active=" + profiles + ",native"));
+        } else {
+            System.out.println("네이티브 실행파일이 없음 - " + executable);
+        }
+
+        NativeComparison comparison = new NativeComparison();
+        System.out.printf("%-8s %14s %16s %16s%n", "build", "startup(ms)", "rss ready(MB)", "rss loaded(MB)");
+        for (Map.Entry<String, List<String>> build : builds.entrySet()) {
+            long[] startup = new long[runs];
+            long[] rssReady = new long[runs];
+            long[] rssLoaded = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                long[] result = comparison.measure(build.getValue(), port, requests);
+                startup[i] = result[0];
+                rssReady[i] = result[1];
+                rssLoaded[i] = result[2];
+            }
+            System.out.printf("%-8s %14d %16.1f %16.1f%n", build.getKey(),
+                    median(startup), median(rssReady) / 1024.0, median(rssLoaded) / 1024.0);
+        }
+    }
+
+    // [기동 ms, 뜬 직후 RSS KB, 요청 후 RSS KB]
+    private long[] measure(List<String> command, int port, int requests) throws Exception {
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            URI health = URI.create("http://localhost:" + (port + 1) + "/actuator/health"); // 관리 포트
+            while (!isUp(health)) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("앱이 종료됨 - exit " + process.exitValue() + " " + command);
+                }
+                if (System.nanoTime() - start > STARTUP_TIMEOUT.toNanos()) {
+                    throw new IllegalStateException("기동 시간 초과 - " + command);
+                }
+                Thread.sleep(10);
+            }
+            long startupMs = (System.nanoTime() - start) / 1_000_000;
+            long rssReady = rssKb(process.pid());
+
+            // 인증 없이 DB까지 다녀오는 요청으로 가볍게 돌려봄
+            for (int i = 0; i < requests; i++) {
+                http.send(HttpRequest.newBuilder(URI.create(
+                                "http://localhost:" + port + "/api/auth/check?email=compare" + (i % 100) + "@test.com")).build(),
+                        HttpResponse.BodyHandlers.discarding());
+            }
+            long rssLoaded = rssKb(process.pid());
+            return new long[]{startupMs, rssReady, rssLoaded};
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private boolean isUp(URI health) {
+        try {
+            return http.send(HttpRequest.newBuilder(health).timeout(Duration.ofSeconds(1)).build(),
+                    HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static long rssKb(long pid) throws IOException {
+        for (String line : Files.readAllLines(Paths.get("/proc", String.valueOf(pid), "status"))) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("[^0-9]", ""));
+            }
+        }
+        return -1;
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static boolean exists(String path) {
+        return path != null && Files.isRegularFile(Paths.get(path));
+    }
+
+    private static String javaBin() {
+        return Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.todo.loadtest;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+
+import java.lang.management.ManagementFactory;
+
+// 기동 시간 측정용 - startup.exit-on-ready=true 면 요청 받을 준비가 되자마자 기동 시간을 찍고 종료
+// (StartupBenchmark, AppCDS 클래스 목록 덤프) loadTest 클래스패스의 spring.factories 로만 등록돼서 운영 코드에는 없음
+public class ReadyExitListener implements ApplicationListener<ApplicationReadyEvent> {
+
+    // 측정 스크립트가 출력에서 찾는 문구
+    public static final String READY_MARKER = "startup.ready-ms=";
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!event.getApplicationContext().getEnvironment()
+                .getProperty("startup.exit-on-ready", Boolean.class, false)) {
+            return;
+        }
+        // JVM 시작부터 요청 받을 준비가 될 때까지 (클래스 로딩 포함)
+        long readyMs = ManagementFactory.getRuntimeMXBean().getUptime();
+        System.out.println(READY_MARKER + readyMs);
+        System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
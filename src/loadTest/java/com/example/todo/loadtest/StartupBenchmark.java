@@ -0,0 +1,120 @@
+package com.example.todo.loadtest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+// 기동 시간 측정기 (./gradlew startupBenchmark)
+// 설정마다 새 JVM으로 앱을 여러 번 띄워서 (startup.exit-on-ready=true) 요청 받을 준비까지 걸린 시간을 잼
+// - 기본: loadtest 프로필만
+// - fast-start: lazy 초기화 + swagger/p6spy/jmx 끔
+// - fast-start + AppCDS: 위 설정에 공유 클래스 아카이브까지
+// 결과는 csv에 한 줄씩 덧붙여서 변화를 추적하고, budget-ms를 넘으면 실패로 끝냄 (CI용)
+public class StartupBenchmark {
+
+    private static final String MAIN_CLASS = "com.example.todo.TodoApplication";
+    private static final long TIMEOUT_SECONDS = 120;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                options.put(arg.substring(0, eq), arg.substring(eq + 1));
+            }
+        }
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        long budgetMs = Long.parseLong(options.getOrDefault("budget-ms", "0"));
+
+        String classpath = System.getProperty("startup.classpath", System.getProperty("java.class.path"));
+        String archive = System.getProperty("startup.cds-archive");
+        String report = System.getProperty("startup.report");
+
+        Map<String, List<String>> variants = new LinkedHashMap<>();
+        variants.put("default", List.of("--spring.profiles.active=loadtest"));
+        variants.put("fast-start", List.of("--spring.profiles.active=loadtest,fast-start"));
+        if (archive != null && Files.exists(Paths.get(archive))) {
+            variants.put("fast-start+cds", List.of("-XX:SharedArchiveFile=" + archive, "-Xshare:auto",
+                    "--spring.profiles.active=loadtest,fast-start"));
+        } else {
+            System.out.println("AppCDS 아카이브가 없어서 건너뜀 - ./gradlew cdsArchive");
+        }
+
+        System.out.printf("%-16s %8s %8s %8s %8s%n", "variant", "min", "median", "max", "runs");
+        long bestMedian = Long.MAX_VALUE;
+        List<String> lines = new ArrayList<>();
+        String now = LocalDateTime.now().withNano(0).toString();
+        for (Map.Entry<String, List<String>> variant : variants.entrySet()) {
+            long[] times = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                times[i] = startOnce(classpath, variant.getValue());
+            }
+            Arrays.sort(times);
+            long median = times[runs / 2];
+            bestMedian = Math.min(bestMedian, median);
+            System.out.printf("%-16s %6dms %6dms %6dms %8d%n", variant.getKey(), times[0], median, times[runs - 1], runs);
+            lines.add(String.join(",", now, variant.getKey(), String.valueOf(times[0]),
+                    String.valueOf(median), String.valueOf(times[runs - 1]), String.valueOf(runs)));
+        }
+
+        if (report != null) {
+            appendReport(Paths.get(report), lines);
+        }
+        if (budgetMs > 0 && bestMedian > budgetMs) {
+            System.out.printf("기동 시간 예산 초과 - %dms > %dms%n", bestMedian, budgetMs);
+            System.exit(1);
+        }
+    }
+
+    // 새 JVM으로 한 번 띄우고 앱이 찍은 기동 시간(JVM 시작부터 ready까지)을 리턴
+    private static long startOnce(String classpath, List<String> variantArgs) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        variantArgs.stream().filter(a -> a.startsWith("-X")).forEach(command::add);
+        command.add("-cp");
+        command.add(classpath);
+        command.add(MAIN_CLASS);
+        variantArgs.stream().filter(a -> a.startsWith("--")).forEach(command::add);
+        command.add("--startup.exit-on-ready=true");
+        command.add("--server.port=0");
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        Long readyMs = null;
+        StringBuilder tail = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(ReadyExitListener.READY_MARKER)) {
+                    readyMs = Long.parseLong(line.substring(ReadyExitListener.READY_MARKER.length()).trim());
+                } else if (tail.length() < 8192) {
+                    tail.append(line).append('\n');
+                }
+            }
+        }
+        if (!process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+        if (readyMs == null) {
+            throw new IllegalStateException("앱이 기동하지 못했습니다.\n" + tail);
+        }
+        return readyMs;
+    }
+
+    private static void appendReport(Path report, List<String> lines) throws IOException {
+        Files.createDirectories(report.getParent());
+        if (!Files.exists(report)) {
+            Files.write(report, List.of("measured_at,variant,min_ms,median_ms,max_ms,runs"));
+        }
+        Files.write(report, lines, StandardOpenOption.APPEND);
+        System.out.println("기록: " + report);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.todo.loadtest;
+
+import com.example.todo.todoapi.stream.TodoStreamHub;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// SSE 구독자 용량 측정기 (./gradlew streamBenchmark)
+// 서버 한 대에 users x tabs 개의 구독자를 붙이고, 구독자당 힙 사용량과 회원마다 이벤트 하나씩 뿌리는 시간을 잼
+// - 구독자 수 제한(todo.stream.max-subscribers)을 정할 때 참고용 (힙 / 구독자당 바이트)
+public class StreamHubBenchmark {
+
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                options.put(arg.substring(0, eq), arg.substring(eq + 1));
+            }
+        }
+        int users = Integer.parseInt(options.getOrDefault("users", "1000"));
+        int tabs = Integer.parseInt(options.getOrDefault("tabs", "10"));
+
+        TodoStreamHub hub = new TodoStreamHub(60_000, 64, users * tabs, tabs, 100, 600_000, 50_000, 4);
+        try {
+            Runtime runtime = Runtime.getRuntime();
+            System.gc();
+            long before = runtime.totalMemory() - runtime.freeMemory();
+
+            for (int u = 0; u < users; u++) {
+                for (int t = 0; t < tabs; t++) {
+                    hub.subscribe("user" + u, null);
+                }
+            }
+            long start = System.nanoTime();
+            for (int u = 0; u < users; u++) {
+                hub.publish("user" + u, "created", "todo" + u);
+            }
+            long publishNanos = System.nanoTime() - start;
+            System.gc();
+            long after = runtime.totalMemory() - runtime.freeMemory();
+
+            System.out.printf("구독자 수 = %d%n", hub.getSubscriberCount());
+            System.out.printf("구독자당 힙 사용량(byte) = %d%n", (after - before) / Math.max(hub.getSubscriberCount(), 1));
+            System.out.printf("이벤트 %d건 발행 시간(ms) = %d%n", users, publishNanos / 1_000_000);
+        } finally {
+            hub.shutdown();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.todo.loadtest;
+
+import com.example.todo.todoapi.reminder.HierarchicalTimerWheel;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+
+// 알림 타이머 휠 측정기 (./gradlew reminderBenchmark)
+// 대기중인 알림 N개(앞으로 하루 안에 흩어짐)를 올려두고, 매 틱 rate개씩 만료되는 알림을 흘리면서 틱 처리 시간을 잼
+// - 틱 처리 비용은 그 틱에 만료되는 개수에만 비례해야 함 -> N이 늘어도 틱당 시간/CPU가 평평해야 정상
+// - 취소(알림 시간 변경, 완료, 삭제)도 N과 상관없이 O(1) - 힙(PriorityQueue)은 취소가 O(N)이라 같이 비교
+public class TimerWheelBenchmark {
+
+    private static final long TICK_MS = 1000;
+    private static final int DAY_TICKS = 86_400;
+
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                options.put(arg.substring(0, eq), arg.substring(eq + 1));
+            }
+        }
+        int ticks = Integer.parseInt(options.getOrDefault("ticks", "600"));
+        int rate = Integer.parseInt(options.getOrDefault("rate", "1000"));
+        int cancels = Integer.parseInt(options.getOrDefault("cancels", "100000"));
+        boolean comparePq = Boolean.parseBoolean(options.getOrDefault("compare-pq", "true"));
+        List<Integer> sizes = new ArrayList<>();
+        for (String size : options.getOrDefault("sizes", "100000,1000000,3000000").split(",")) {
+            sizes.add(Integer.parseInt(size.trim()));
+        }
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        System.out.printf("틱 %d번, 틱마다 %d개 만료%n", ticks, rate);
+        System.out.printf("%10s %12s %12s %12s %12s %12s %14s%n"
+                , "pending", "schedule/op", "tick avg", "tick p99", "tick cpu", "cancel/op", "heap cancel/op");
+
+        for (int size : sizes) {
+            HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(TICK_MS, 8, 3, 0);
+            Random random = new Random(42);
+
+            // 측정 구간 이후 하루 안에 흩어진 대기 알림
+            long start = System.nanoTime();
+            for (int i = 0; i < size; i++) {
+                wheel.schedule("p" + i, (ticks + 1 + random.nextInt(DAY_TICKS)) * TICK_MS, "p" + i);
+            }
+            long scheduleNs = (System.nanoTime() - start) / Math.max(size, 1);
+
+            // 측정 구간에 매 틱 rate개씩 만료될 알림
+            for (int t = 1; t <= ticks; t++) {
+                for (int j = 0; j < rate; j++) {
+                    wheel.schedule("s" + t + "-" + j, t * TICK_MS, "s");
+                }
+            }
+
+            int[] fired = new int[1];
+            long[] tickNs = new long[ticks];
+            long cpuStart = threads.getCurrentThreadCpuTime();
+            for (int t = 1; t <= ticks; t++) {
+                long tickStart = System.nanoTime();
+                wheel.advance(t * TICK_MS, value -> fired[0]++);
+                tickNs[t - 1] = System.nanoTime() - tickStart;
+            }
+            long cpuNs = threads.getCurrentThreadCpuTime() - cpuStart;
+            if (fired[0] != ticks * rate) {
+                throw new IllegalStateException("만료 개수가 다름: " + fired[0]);
+            }
+
+            int cancelCount = Math.min(cancels, size);
+            start = System.nanoTime();
+            for (int i = 0; i < cancelCount; i++) {
+                wheel.cancel("p" + random.nextInt(size));
+            }
+            long cancelNs = (System.nanoTime() - start) / Math.max(cancelCount, 1);
+
+            String heapCancel = comparePq ? heapCancelNs(size, random) + "ns" : "-";
+
+            Arrays.sort(tickNs);
+            System.out.printf("%10d %10dns %10.1fus %10.1fus %10.1fus %10dns %14s%n"
+                    , size, scheduleNs
+                    , Arrays.stream(tickNs).average().orElse(0) / 1000
+                    , tickNs[(int) (ticks * 0.99) - 1] / 1000.0
+                    , cpuNs / 1000.0 / ticks
+                    , cancelNs, heapCancel);
+        }
+    }
+
+    // 같은 개수를 PriorityQueue에 넣었을 때 임의의 알림 하나를 빼는 비용
+    private static long heapCancelNs(int size, Random random) {
+        PriorityQueue<long[]> heap = new PriorityQueue<>(size, Comparator.comparingLong(e -> e[0]));
+        List<long[]> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            long[] entry = {random.nextInt(DAY_TICKS) * TICK_MS, i};
+            heap.add(entry);
+            entries.add(entry);
+        }
+        int count = 100;
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            heap.remove(entries.get(random.nextInt(size)));
+        }
+        return (System.nanoTime() - start) / count;
+    }
+}
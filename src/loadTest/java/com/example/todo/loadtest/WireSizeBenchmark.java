@@ -0,0 +1,77 @@
+package com.example.todo.loadtest;
+
+import com.example.todo.todoapi.dto.response.TodoDetailResponseDTO;
+import com.example.todo.todoapi.dto.response.TodoListResponseDTO;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+// 할 일 목록 응답 크기 측정기 (./gradlew wireSizeBenchmark)
+// 목록 크기별로 json / smile 응답 바이트 수(gzip 포함)와 직렬화 시간을 찍어봄
+public class WireSizeBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                options.put(arg.substring(0, eq), arg.substring(eq + 1));
+            }
+        }
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "20"));
+
+        ObjectMapper json = new ObjectMapper()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        ObjectMapper smile = new ObjectMapper(new SmileFactory())
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+        for (String sizeArg : options.getOrDefault("sizes", "100,1000,10000").split(",")) {
+            int size = Integer.parseInt(sizeArg.trim());
+            TodoListResponseDTO dto = makeList(size);
+
+            // 워밍업
+            for (int i = 0; i < warmup; i++) {
+                json.writeValueAsBytes(dto);
+                smile.writeValueAsBytes(dto);
+            }
+
+            long start = System.nanoTime();
+            byte[] jsonBytes = json.writeValueAsBytes(dto);
+            long jsonNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            byte[] smileBytes = smile.writeValueAsBytes(dto);
+            long smileNanos = System.nanoTime() - start;
+
+            System.out.printf("%6d개 - json: %8d byte (%5d us), gzip json: %7d byte, smile: %8d byte (%5d us), gzip smile: %7d byte%n"
+                    , size, jsonBytes.length, jsonNanos / 1000, gzip(jsonBytes)
+                    , smileBytes.length, smileNanos / 1000, gzip(smileBytes));
+        }
+    }
+
+    private static TodoListResponseDTO makeList(int size) {
+        List<TodoDetailResponseDTO> todos = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            todos.add(new TodoDetailResponseDTO(
+                    "8a8081e5889a3c4c01889a3d2f1a" + String.format("%04d", i % 10_000)
+                    , "할 일 " + i, i % 3 == 0, i % 5));
+        }
+        return TodoListResponseDTO.builder().todos(todos).build();
+    }
+
+    private static int gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(data);
+        }
+        return out.size();
+    }
+}
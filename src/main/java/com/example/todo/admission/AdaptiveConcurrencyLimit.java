@@ -0,0 +1,160 @@
+package com.example.todo.admission;
+
+// 동시에 처리할 요청 수를 응답시간을 보고 스스로 조절하는 한도 (AIMD)
+// - 한도 근처까지 쓰면서 빠르게 끝나면 한도 +1
+// - 느려지면 (최근 최소 응답시간 * tolerance 이상) 또는 5xx면 한도 * backoff-ratio
+// - 한도가 꽉 차면 max-queue 까지만 max-wait 동안 기다리고, 그래도 안 되면 거절
+// 최소 응답시간은 window 개 요청마다 새로 잼 (데이터가 늘어서 평소 응답시간이 변해도 따라감)
+// 줄이는 건 한 번 줄인 뒤에 시작한 요청이 느려졌을 때만 (줄이기 전에 이미 들어와 있던 요청들로 연달아 줄이지 않게)
+// 응답시간이 다른 경로를 한 한도에 섞지 않음 - 서버 전체 한도는 경로별 한도의 판정(releaseJudged)만 받음
+public class AdaptiveConcurrencyLimit {
+
+    private static final int RTT_WINDOW = 500;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueue;
+    private final double backoffRatio;
+    private final double tolerance;
+    private final long latencyFloorNanos;
+
+    private double limit;
+    private int inFlight;
+    private int waiting;
+
+    private long lastDecreaseNanos = Long.MIN_VALUE; // 마지막으로 한도를 줄인 시각
+    private long minRttNanos = Long.MAX_VALUE; // 지난 window의 최소 응답시간
+    private long windowMinNanos = Long.MAX_VALUE;
+    private int windowCount;
+
+    /**
+     * @param initialLimit - 처음 한도
+     * @param minLimit - 아무리 느려도 이만큼은 받음
+     * @param maxLimit - 아무리 빨라도 이 이상은 안 받음 (회원 등급/경로별 상한)
+     * @param maxQueue - 한도가 찼을 때 기다릴 수 있는 요청 수
+     * @param backoffRatio - 느려졌을 때 한도에 곱하는 값 (0~1)
+     * @param tolerance - 최소 응답시간의 몇 배부터 느리다고 볼지
+     * @param latencyFloorMs - 이 시간 안에 끝나면 배수와 상관없이 빠르다고 봄 (아주 빠른 요청에서 한도가 출렁이지 않게)
+     */
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, int maxQueue
+            , double backoffRatio, double tolerance, long latencyFloorMs) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("한도 범위가 잘못되었습니다. - min: " + minLimit + ", max: " + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueue = maxQueue;
+        this.backoffRatio = backoffRatio;
+        this.tolerance = tolerance;
+        this.latencyFloorNanos = latencyFloorMs * 1_000_000;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * 처리 자리 하나 받기
+     *
+     * @param maxWaitNanos - 한도가 찼을 때 기다릴 시간 (0이면 안 기다림)
+     * @return - 받았으면 true (끝나면 반드시 release)
+     */
+    public synchronized boolean tryAcquire(long maxWaitNanos) throws InterruptedException {
+        if (inFlight < (int) limit) {
+            inFlight++;
+            return true;
+        }
+        if (maxWaitNanos <= 0 || waiting >= maxQueue) {
+            return false;
+        }
+
+        waiting++;
+        try {
+            long deadline = System.nanoTime() + maxWaitNanos;
+            while (inFlight >= (int) limit) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                wait(remaining / 1_000_000, (int) (remaining % 1_000_000));
+            }
+            inFlight++;
+            return true;
+        } finally {
+            waiting--;
+        }
+    }
+
+    /**
+     * 처리 끝 - 이 한도에 들어온 요청들의 응답시간으로 느려졌는지 보고 한도 조절
+     *
+     * @param latencyNanos - 처리에 걸린 시간
+     * @param dropped - 실패(5xx, 예외)였으면 true
+     * @return - 느렸거나 실패했으면 true (서버 전체 한도에 releaseJudged로 넘김)
+     */
+    public boolean release(long latencyNanos, boolean dropped) {
+        return release(System.nanoTime(), latencyNanos, dropped);
+    }
+
+    synchronized boolean release(long nowNanos, long latencyNanos, boolean dropped) {
+        windowMinNanos = Math.min(windowMinNanos, latencyNanos);
+        if (++windowCount >= RTT_WINDOW) {
+            minRttNanos = windowMinNanos;
+            windowMinNanos = Long.MAX_VALUE;
+            windowCount = 0;
+        }
+        long baseline = Math.min(minRttNanos, windowMinNanos);
+
+        boolean slow = latencyNanos > latencyFloorNanos && latencyNanos > baseline * tolerance;
+        boolean congested = dropped || slow;
+        adjust(nowNanos, latencyNanos, congested);
+        return congested;
+    }
+
+    /**
+     * 처리 끝 - 이미 내려진 판정으로 한도 조절 (서버 전체 한도용)
+     * 경로마다 평소 응답시간이 달라서 (로그인 bcrypt 수십ms, 조회 몇ms) 여기서는 응답시간을 비교하지 않음
+     *
+     * @param latencyNanos - 처리에 걸린 시간 (줄이기 전에 시작한 요청인지 보는 데만 씀)
+     * @param congested - 경로별 한도가 느리다고(또는 실패라고) 본 요청이면 true
+     */
+    public void releaseJudged(long latencyNanos, boolean congested) {
+        releaseJudged(System.nanoTime(), latencyNanos, congested);
+    }
+
+    synchronized void releaseJudged(long nowNanos, long latencyNanos, boolean congested) {
+        adjust(nowNanos, latencyNanos, congested);
+    }
+
+    private void adjust(long nowNanos, long latencyNanos, boolean congested) {
+        boolean saturated = inFlight * 2 >= (int) limit; // 한도를 절반 이상 쓰고 있을 때만 늘림
+        inFlight--;
+
+        if (congested) {
+            // 마지막으로 줄인 뒤에 시작한 요청만 (한 RTT에 한 번만 줄임)
+            long startedNanos = nowNanos - latencyNanos;
+            if (lastDecreaseNanos == Long.MIN_VALUE || startedNanos - lastDecreaseNanos >= 0) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                lastDecreaseNanos = nowNanos;
+            }
+        } else if (saturated) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+        notifyAll();
+    }
+
+    // 자리를 받았지만 처리하지 않고 돌려줄 때 (한도 조절 없음)
+    public synchronized void cancel() {
+        inFlight--;
+        notifyAll();
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getWaiting() {
+        return waiting;
+    }
+}
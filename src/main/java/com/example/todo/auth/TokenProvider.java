@@ -6,21 +6,27 @@ import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.UUID;
 
 // 역할: 토큰을 발급하고, 서명 위조를 검사하는 객체
 @Service
 @Slf4j
 public class TokenProvider {
 
+    // 토큰 유효기간 (폐기 목록도 이 시간이 지나면 지움)
+    public static final Duration TOKEN_LIFETIME = Duration.ofDays(1);
+
+    private static final String ISSUED_AT_MS = "iat_ms";
+
     // 토큰을 발급하려면 서명(시그니처)이 필요 -> 서명에 사용할 값이 필요 (512비트(64바이트) 이상의 랜덤 문자열이 필요함 -> 해킹위험예방)
     @Value("${jwt.secret}")
     private String SECRET_KEY; // 서명은 노출되면 안되니까 yml에 설정
@@ -47,11 +53,24 @@ public class TokenProvider {
      * @return - 생성된 jwt의 json을 암호화한 토큰값
      */
     // 토큰 생성 메서드
+    @Timed("jwt.create")
     public String createToken(User userEntity) {
+        return createToken(userEntity, System.currentTimeMillis());
+    }
+
+    /**
+     * 발급시간을 정해서 토큰 생성 (등급변경처럼 폐기 cutoff 이후에 발급된 걸로 만들어야 할 때)
+     *
+     * @param userEntity - 토큰의 내용(클레임)에 포함될 유저정보
+     * @param issuedAtMs - 발급시간 (epoch 밀리초)
+     * @return - 생성된 jwt의 json을 암호화한 토큰값
+     */
+    @Timed("jwt.create")
+    public String createToken(User userEntity, long issuedAtMs) {
 
         // 토큰 만료시간 생성 (LocalDateTime을 지원하지 않고 Date만 지원함. 그래서 만듦, 일단 하루로 설정)
         Date expiry = Date.from(
-                Instant.now().plus(1, ChronoUnit.DAYS)
+                Instant.ofEpochMilli(issuedAtMs).plus(TOKEN_LIFETIME)
         );
 
 
@@ -59,6 +78,8 @@ public class TokenProvider {
         HashMap<String, Object> claims = new HashMap<>();
         claims.put("email", userEntity.getEmail());
         claims.put("role", userEntity.getRole().toString()); // enum으로 넣을 때는 String으로 넣기! (안그럼 에러남)
+        // iat는 초 단위라 같은 초에 발급된 토큰끼리 순서를 모름 -> 폐기 cutoff 비교용으로 밀리초를 따로 넣음
+        claims.put(ISSUED_AT_MS, issuedAtMs);
 
         // 토큰 생성
         return Jwts.builder()
@@ -71,9 +92,10 @@ public class TokenProvider {
                 // ↓ token payload(body같음)에 들어갈 '클레임' 설정 (자주쓰는 것은 인텔리제이에 있음)
                 .setClaims(claims) // 커스텀으로 더 넣고 싶은거 (추가클레임) * 주의사항 * 추가클레임은 먼저 설정해야함
                 .setIssuer("바닐라겅듀") // iss: 발급자 정보 (회사이름, 서비스이름)
-                .setIssuedAt(new Date()) // iat: 토큰 발급시간
+                .setIssuedAt(new Date(issuedAtMs)) // iat: 토큰 발급시간
                 .setExpiration(expiry) // exp: 토큰만료시간
                 .setSubject(userEntity.getId()) // sub: 토큰을 식별할 수 있는 주요데이터
+                .setId(UUID.randomUUID().toString()) // jti: 토큰 하나하나의 id (로그아웃/폐기용)
                 .compact();
     }
 
@@ -83,6 +105,7 @@ public class TokenProvider {
      * @param token
      * @return - 토큰 안에 있는 인증된 유저정보를 반환
      */
+    @Timed("jwt.parse")
     public TokenUserInfo validatedAndGetTokenUserInfo(String token) {
 
         // parserBuilder로 암호화 해제(디코딩)
@@ -94,12 +117,18 @@ public class TokenProvider {
                 .parseClaimsJws(token) // 페이로드 안에서 클레임을 파싱해서 제이슨 가져오기
                 .getBody(); // 토큰바디안에 있는 클레임 가져오기
 
-        log.info("claims: {}", claims); // claims의 정체는 72~76번 라인! // 이걸 모아서 ↓ 예쁘게 포장해서 서버로 주기!
+        log.debug("token subject: {}", claims.getSubject()); // claims의 정체는 72~76번 라인! // 이걸 모아서 ↓ 예쁘게 포장해서 서버로 주기!
+
+        // iat_ms 넣기 전에 발급된 토큰은 초 단위 iat로
+        Long issuedAtMs = claims.get(ISSUED_AT_MS, Long.class);
 
         return TokenUserInfo.builder()
                 .userId(claims.getSubject()) // 토큰 만들때 id는 Subject안에 넣었었음
                 .email(claims.get("email", String.class)) //map에서 Object로 들어갔으니까, String클래스로 꺼내야함
                 .role(Role.valueOf(claims.get("role", String.class))) //map에서 Object로 들어갔으니까, String클래스로 꺼내야함 -> 근데 enum이니까 한번 더 enum으로 변환 필요
+                .tokenId(claims.getId()) // jti 넣기 전에 발급된 토큰은 null
+                .issuedAt(issuedAtMs != null ? issuedAtMs : claims.getIssuedAt().getTime())
+                .expiresAt(claims.getExpiration().getTime() / 1000)
                 .build();
     }
 
@@ -0,0 +1,167 @@
+package com.example.todo.auth;
+
+import com.example.todo.userapi.entity.RevokedToken;
+import com.example.todo.userapi.repository.RevokedTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// 폐기된 토큰 목록 (로그아웃, 등급변경, 탈퇴)
+// - JwtAuthFilter가 요청마다 보니까 해시맵 조회 한두번으로 끝나게 (객체 생성 없음)
+// - 만료시간(시간 단위) 별로 묶어두고, 토큰이 어차피 만료됐을 시간이 지나면 묶음째 버림
+// - 원본은 tbl_revoked_token, 다른 서버에서 폐기한 것은 sync-ms 마다 가져옴
+@Component
+@Slf4j
+public class TokenRevocationList {
+
+    private static final long BUCKET_SECONDS = 3600;
+    private static final String USER_PREFIX = "user:";
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long syncLookbackSeconds;
+
+    private final Set<String> revokedTokens = ConcurrentHashMap.newKeySet(); // jti
+    private final ConcurrentHashMap<String, Long> userCutoffs = new ConcurrentHashMap<>(); // 회원id -> cutoff
+    // 만료 시간대 -> 그 시간대에 만료되는 키 (jti 또는 "user:회원id")
+    private final ConcurrentSkipListMap<Long, Set<String>> buckets = new ConcurrentSkipListMap<>();
+
+    private volatile LocalDateTime lastSync = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    public TokenRevocationList(
+            RevokedTokenRepository revokedTokenRepository
+            , @Value("${jwt.revocation.sync-lookback-seconds:30}") long syncLookbackSeconds) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.syncLookbackSeconds = syncLookbackSeconds;
+    }
+
+    /**
+     * 폐기된 토큰인지 확인 (요청마다 호출됨)
+     *
+     * @param userInfo - 서명 검사가 끝난 토큰 정보
+     * @return - 폐기된 토큰이면 true
+     */
+    public boolean isRevoked(TokenUserInfo userInfo) {
+        String tokenId = userInfo.getTokenId();
+        if (tokenId != null && revokedTokens.contains(tokenId)) {
+            return true;
+        }
+        Long cutoff = userCutoffs.get(userInfo.getUserId());
+        return cutoff != null && userInfo.getIssuedAt() < cutoff;
+    }
+
+    // 이 토큰 하나만 폐기 (로그아웃)
+    public void revoke(TokenUserInfo userInfo) {
+        if (userInfo.getTokenId() == null) {
+            // jti 없는 옛날 토큰은 회원 전체로
+            revokeAllBefore(userInfo.getUserId(), userInfo.getIssuedAt() + 1);
+            return;
+        }
+        RevokedToken saved = revokedTokenRepository.save(RevokedToken.builder()
+                .id(userInfo.getTokenId())
+                .userId(userInfo.getUserId())
+                .revokedAt(LocalDateTime.now())
+                .expiresAt(toLocalDateTime(userInfo.getExpiresAt()))
+                .build());
+        apply(saved);
+    }
+
+    /**
+     * 회원이 cutoff 전에 발급받은 토큰을 모두 폐기 (등급변경, 탈퇴)
+     *
+     * @param userId - 회원
+     * @param cutoff - epoch 밀리초, 이 시간 전에 발급된 토큰(발급시간 < cutoff)이 무효
+     */
+    public void revokeAllBefore(String userId, long cutoff) {
+        RevokedToken revoked = RevokedToken.builder()
+                .id(USER_PREFIX + userId)
+                .userId(userId)
+                .cutoff(cutoff)
+                .revokedAt(LocalDateTime.now())
+                .expiresAt(toLocalDateTime(cutoff / 1000 + 1 + TokenProvider.TOKEN_LIFETIME.getSeconds()))
+                .build();
+        // 회원마다 행이 하나라 그냥 save하면 나중에 온 낮은 cutoff가 덮어씀 -> 재시작 후 load()에서 옛 토큰이 살아남
+        revokedTokenRepository.raiseCutoff(revoked.getId(), userId, cutoff
+                , revoked.getRevokedAt(), revoked.getExpiresAt());
+        apply(revoked);
+    }
+
+    @PostConstruct
+    public void load() {
+        sync();
+        log.info("폐기된 토큰 목록 로딩 - 토큰 {}개, 회원 {}명", revokedTokens.size(), userCutoffs.size());
+    }
+
+    // 다른 서버에서 폐기한 것 가져오기 (커밋이 늦게 보이는 경우를 위해 조금 겹쳐서 읽음)
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-ms:5000}")
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = lastSync.minusSeconds(syncLookbackSeconds);
+        try {
+            revokedTokenRepository.findByRevokedAtGreaterThanEqualAndExpiresAtAfter(since, now)
+                    .forEach(this::apply);
+            lastSync = now;
+        } catch (Exception e) {
+            log.warn("폐기된 토큰 동기화 실패 - {}", e.getMessage());
+        }
+    }
+
+    // 만료시간이 지난 묶음 버리기 (DB에서도 삭제)
+    @Scheduled(fixedDelayString = "${jwt.revocation.expire-ms:600000}")
+    public void expire() {
+        long now = Instant.now().getEpochSecond();
+        long nowBucket = bucketOf(now);
+        Map.Entry<Long, Set<String>> oldest;
+        while ((oldest = buckets.firstEntry()) != null && oldest.getKey() < nowBucket) {
+            buckets.remove(oldest.getKey());
+            for (String key : oldest.getValue()) {
+                if (key.startsWith(USER_PREFIX)) {
+                    // 그 사이에 더 늦은 cutoff로 바뀌었으면 남겨둠 (그 cutoff의 묶음에서 지워짐)
+                    userCutoffs.computeIfPresent(key.substring(USER_PREFIX.length()),
+                            (userId, cutoff) -> cutoff / 1000 + TokenProvider.TOKEN_LIFETIME.getSeconds() < now ? null : cutoff);
+                } else {
+                    revokedTokens.remove(key);
+                }
+            }
+        }
+        try {
+            revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        } catch (Exception e) {
+            log.warn("만료된 폐기 토큰 삭제 실패 - {}", e.getMessage());
+        }
+    }
+
+    public int size() {
+        return revokedTokens.size() + userCutoffs.size();
+    }
+
+    private void apply(RevokedToken revoked) {
+        long expiresAt = revoked.getExpiresAt().atZone(ZoneId.systemDefault()).toEpochSecond();
+        if (revoked.getCutoff() != null) {
+            // 더 늦은 cutoff만 반영 (동기화로 옛날 값이 다시 와도 덮어쓰지 않음)
+            userCutoffs.merge(revoked.getUserId(), revoked.getCutoff(), Math::max);
+        } else {
+            revokedTokens.add(revoked.getId());
+        }
+        // 만료 시간대의 끝에 버려지도록 올림
+        buckets.computeIfAbsent(bucketOf(expiresAt) + 1, k -> ConcurrentHashMap.newKeySet())
+                .add(revoked.getId());
+    }
+
+    private static long bucketOf(long epochSecond) {
+        return epochSecond / BUCKET_SECONDS;
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochSecond) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneId.systemDefault());
+    }
+}
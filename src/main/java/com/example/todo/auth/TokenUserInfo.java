@@ -15,4 +15,8 @@ public class TokenUserInfo {
     private String email;
     private Role role;
 
+    private String tokenId; // jti - 로그아웃할 때 이 토큰만 폐기
+    private long issuedAt; // 발급시간 (epoch 밀리초, 폐기 cutoff와 비교)
+    private long expiresAt; // exp (epoch 초)
+
 }
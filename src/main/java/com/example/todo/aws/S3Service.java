@@ -1,24 +1,37 @@
 package com.example.todo.aws;
 
+import com.example.todo.storage.StorageService;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.PutObjectAclRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 
-import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.net.URI;
+import java.nio.file.Path;
 
+// S3 저장소 (storage.type=s3, 기본값)
 @Service
 @Slf4j
-public class S3Service {
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3", matchIfMissing = true)
+public class S3Service implements StorageService {
 
-    // s3 버킷을 제어하는 객체
-    private S3Client s3;
+    // s3 버킷을 제어하는 객체 (처음 쓸 때 만듦 - 기동할 때 aws sdk 초기화 비용을 안 냄)
+    private volatile S3Client s3;
 
     @Value("${aws.credentials.accessKey}")
     private String accessKey;
@@ -34,42 +47,93 @@ public class S3Service {
 
 
     // 1. S3에 연결해서 인증을 처리하는 로직 만들기 -> aws 로그인
-    @PostConstruct //S3Service가 생성될때 1번만 실행되는 어노테이션!ㅎㅎㅎㅎㅎㅎㅎ
-    private void initializeAmazon() {
+    // 원래는 @PostConstruct로 서버 뜰 때 만들었는데, 첫 업로드/조회 때 한 번만 만들도록 바꿈
+    private S3Client client() {
+        S3Client client = s3;
+        if (client == null) {
+            synchronized (this) {
+                client = s3;
+                if (client == null) {
+                    client = s3 = initializeAmazon();
+                }
+            }
+        }
+        return client;
+    }
+
+    private S3Client initializeAmazon() {
         // 액세스키와 시크릿키를 이용해서 계정 인증 받기
         AwsBasicCredentials credentials = AwsBasicCredentials.create(accessKey, secretKey);
 
-        this.s3 = S3Client.builder()
+        return S3Client.builder()
                 .region(Region.of(region))
                 .credentialsProvider(StaticCredentialsProvider.create(credentials))
                 .build();
 
     }
 
-    // 2. 버킷에 파일을 업로드하고 업로드한 버킷의 url의 정보를 리턴
-    /**
-     *
-     * @param uploadFile - 업로드할 파일의 실제 로우데이터
-     * @param fileName - 업로드할 파일명
-     * @return - 버킷에 업로드된 버킷 경로 (url)
-     */
-    public String uploadToS3Bucket(byte[] uploadFile, String fileName) {
+    @PreDestroy
+    public void close() {
+        S3Client client = s3;
+        if (client != null) {
+            client.close();
+        }
+    }
 
-        // 업로드하 파일을 S3 객체로 생성
+    // 파일에서 바로 올림 (바이트 배열로 읽어서 메모리에 올리지 않음)
+    // 파일명이 내용 해시라서 같은 키의 내용이 바뀔 일이 없음 -> CDN/브라우저가 영구 캐싱해도 됨
+    @Override
+    @Timed("s3.upload")
+    public String store(Path source, String fileName) {
         PutObjectRequest request = PutObjectRequest.builder()
-                .bucket(bucketName) // 버킷이름
-                .key(fileName) // 파일명
+                .bucket(bucketName)
+                .key(fileName)
+                .cacheControl("public, max-age=31536000, immutable")
                 .build();
 
-        // 오브젝트를 버킷에 업로드
-        s3.putObject(request, RequestBody.fromBytes(uploadFile));
+        client().putObject(request, RequestBody.fromFile(source));
+        return urlOf(fileName);
+    }
 
-        // 업로드된 파일의 URL을 반환
-        return s3.utilities()
+    // 응답으로 내려주는 동안 S3에서 읽어오는 스트림
+    @Override
+    public Resource load(String location) {
+        try {
+            ResponseInputStream<GetObjectResponse> object = client().getObject(GetObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(keyOf(location))
+                    .build());
+            return new InputStreamResource(object) {
+                @Override
+                public long contentLength() {
+                    return object.response().contentLength();
+                }
+            };
+        } catch (NoSuchKeyException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void delete(String location) {
+        client().deleteObject(DeleteObjectRequest.builder()
+                .bucket(bucketName)
+                .key(keyOf(location))
+                .build());
+    }
+
+    private String urlOf(String fileName) {
+        return client().utilities()
                 .getUrl(b -> b.bucket(bucketName).key(fileName))
-                .toString()
-                ;
+                .toString();
+    }
 
+    // 저장된 값은 URL이라 경로 부분이 키 (virtual-hosted 방식: https://버킷.s3.리전.amazonaws.com/키)
+    private static String keyOf(String location) {
+        if (!location.startsWith("http")) {
+            return location;
+        }
+        return URI.create(location).getPath().substring(1);
     }
 
 
@@ -0,0 +1,15 @@
+package com.example.todo.cache;
+
+// 캐시 영역 이름 (메트릭 태그와 공유 캐시 키 앞부분에 쓰임)
+public final class CacheRegions {
+
+    public static final String TODO_LIST = "todo-list"; // 회원별 할 일 목록 (필터 없는 기본 목록, 키는 회원id@목록버전)
+    public static final String TODO_LIST_VERSION = "todo-list-version"; // 회원별 목록 ETag 값 (목록이 바뀌면 지워서 새로 뽑음, 목록 캐시 키에도 붙음)
+    public static final String USER = "user"; // 회원 요약정보
+    public static final String SHARED_LIST_MEMBERS = "shared-list-members"; // 공유 목록별 회원 id 목록
+    public static final String SHARED_LIST_ACCESS = "shared-list-access"; // (회원, 공유 목록)별 접근 가능 여부
+    public static final String TODO_REMINDER = "todo-reminder"; // 값은 없고 알림이 바뀐 할 일 id를 다른 서버에 알리는 데만 씀
+
+    private CacheRegions() {
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.todo.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Redis 대신 쓰는 프로세스 안의 공유 캐시 (cache.mode=local, 기본값)
+// 서버 한 대로 돌리거나 테스트할 때 Redis 없이 같은 코드가 돌아가게 함
+@Component
+@ConditionalOnProperty(name = "cache.mode", havingValue = "local", matchIfMissing = true)
+public class LocalCacheTier implements SharedCacheTier {
+
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+    public LocalCacheTier(@Value("${cache.shared.max-entries:100000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public byte[] get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt < System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    @Override
+    public void put(String key, byte[] value, Duration ttl) {
+        if (entries.size() >= maxEntries) {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(e -> e.expiresAt < now);
+            if (entries.size() >= maxEntries) {
+                return; // 가득 차면 저장 안함 (캐시일 뿐이라 괜찮음)
+            }
+        }
+        entries.put(key, new Entry(value, System.currentTimeMillis() + ttl.toMillis()));
+    }
+
+    @Override
+    public boolean putIfAbsent(String key, byte[] value, Duration ttl) {
+        // 캐시가 아니라 선점/버전 값이라 가득 차도 넣음 (만료된 것만 먼저 정리)
+        long now = System.currentTimeMillis();
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(e -> e.expiresAt < now);
+        }
+        Entry created = new Entry(value, now + ttl.toMillis());
+        Entry current = entries.compute(key, (k, entry) -> entry == null || entry.expiresAt < now ? created : entry);
+        return current == created;
+    }
+
+    @Override
+    public void delete(String key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public void publish(String message) {
+        listeners.forEach(listener -> listener.accept(message));
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+
+    private static class Entry {
+
+        private final byte[] value;
+        private final long expiresAt;
+
+        Entry(byte[] value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
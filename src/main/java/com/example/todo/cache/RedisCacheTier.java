@@ -0,0 +1,88 @@
+package com.example.todo.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+// Redis 공유 캐시 (cache.mode=redis) - 서버 여러 대가 같은 캐시를 보고 무효화 메시지를 주고받음
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "cache.mode", havingValue = "redis")
+public class RedisCacheTier implements SharedCacheTier {
+
+    private static final String KEY_PREFIX = "todo:cache:";
+
+    private final RedisTemplate<String, byte[]> template;
+    private final RedisMessageListenerContainer container;
+    private final ChannelTopic topic;
+
+    public RedisCacheTier(
+            RedisConnectionFactory connectionFactory
+            , @Value("${cache.redis.channel:todo:cache:invalidate}") String channel) {
+        this.template = new RedisTemplate<>();
+        this.template.setConnectionFactory(connectionFactory);
+        this.template.setKeySerializer(RedisSerializer.string());
+        this.template.setValueSerializer(RedisSerializer.byteArray());
+        this.template.afterPropertiesSet();
+
+        this.topic = new ChannelTopic(channel);
+        this.container = new RedisMessageListenerContainer();
+        this.container.setConnectionFactory(connectionFactory);
+        this.container.afterPropertiesSet();
+        this.container.start();
+    }
+
+    @Override
+    public byte[] get(String key) {
+        return template.opsForValue().get(KEY_PREFIX + key);
+    }
+
+    @Override
+    public void put(String key, byte[] value, Duration ttl) {
+        template.opsForValue().set(KEY_PREFIX + key, value, ttl);
+    }
+
+    @Override
+    public boolean putIfAbsent(String key, byte[] value, Duration ttl) {
+        return Boolean.TRUE.equals(template.opsForValue().setIfAbsent(KEY_PREFIX + key, value, ttl));
+    }
+
+    @Override
+    public void delete(String key) {
+        template.delete(KEY_PREFIX + key);
+    }
+
+    @Override
+    public void deleteAll(Collection<String> keys) {
+        template.delete(keys.stream().map(key -> KEY_PREFIX + key).collect(Collectors.toList()));
+    }
+
+    @Override
+    public void publish(String message) {
+        template.convertAndSend(topic.getTopic(), message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        container.addMessageListener(
+                (message, pattern) -> listener.accept(new String(message.getBody(), StandardCharsets.UTF_8)), topic);
+    }
+
+    @PreDestroy
+    public void shutdown() throws Exception {
+        container.destroy();
+    }
+}
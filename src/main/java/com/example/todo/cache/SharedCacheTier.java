@@ -0,0 +1,28 @@
+package com.example.todo.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+// 서버들이 같이 보는 공유 캐시 (cache.mode=redis 면 Redis, local 이면 프로세스 안의 대역)
+// 값은 직렬화된 바이트로만 다룸, 무효화 메시지는 pub/sub 채널로 모든 서버에 뿌림
+public interface SharedCacheTier {
+
+    byte[] get(String key);
+
+    void put(String key, byte[] value, Duration ttl);
+
+    // 없을 때만 저장 (Redis는 SET NX) - 저장했으면 true
+    boolean putIfAbsent(String key, byte[] value, Duration ttl);
+
+    void delete(String key);
+
+    // 여러 키를 한번에 (Redis는 DEL 한번)
+    default void deleteAll(Collection<String> keys) {
+        keys.forEach(this::delete);
+    }
+
+    void publish(String message);
+
+    void subscribe(Consumer<String> listener);
+}
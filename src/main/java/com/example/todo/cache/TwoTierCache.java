@@ -0,0 +1,259 @@
+package com.example.todo.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// 2단 캐시: 서버 메모리(near, Caffeine) -> 공유 캐시(Redis) -> DB
+// - 쓰기가 커밋되면 공유 캐시에서 지우고 pub/sub으로 다른 서버들의 near 캐시도 지움
+// - 공유 캐시가 죽어도 DB에서 읽어서 동작 (캐시는 없어도 되는 것)
+// - 영역별로 near/shared/miss 횟수를 cache.gets 메트릭으로 남김 (shared = 다른 서버가 채워둔 값)
+@Component
+@Slf4j
+public class TwoTierCache {
+
+    // 여러 키를 지울 때 DEL 한번, 메시지 하나에 담는 최대 키 수
+    private static final int EVICT_CHUNK = 500;
+
+    // 메시지를 보낸 서버는 이미 자기 near 캐시를 지웠으니 무시하려고 붙이는 id
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final SharedCacheTier shared;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Duration sharedTtl;
+
+    private final Cache<String, Object> near;
+    private final ConcurrentHashMap<String, List<Consumer<String>>> remoteListeners = new ConcurrentHashMap<>();
+
+    // 무효화될 때마다 올라가는 번호 (키를 해시로 나눈 칸별)
+    // DB에서 읽는 사이에 무효화가 끼어들었으면 읽은 옛날 값을 캐시에 넣지 않음
+    private final AtomicLongArray generations = new AtomicLongArray(1024);
+
+    public TwoTierCache(
+            SharedCacheTier shared
+            , ObjectMapper objectMapper
+            , MeterRegistry meterRegistry
+            , @Value("${cache.near.max-entries:10000}") long nearMaxEntries
+            , @Value("${cache.near.ttl-seconds:30}") long nearTtlSeconds
+            , @Value("${cache.shared.ttl-seconds:300}") long sharedTtlSeconds) {
+        this.shared = shared;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.sharedTtl = Duration.ofSeconds(sharedTtlSeconds);
+        // 무효화 메시지를 놓쳐도 near 캐시는 짧은 ttl이 지나면 다시 읽음
+        this.near = Caffeine.newBuilder()
+                .maximumSize(nearMaxEntries)
+                .expireAfterWrite(Duration.ofSeconds(nearTtlSeconds))
+                .build();
+
+        shared.subscribe(this::onMessage);
+    }
+
+    /**
+     * near -> shared -> loader 순서로 값을 찾음 (loader 결과는 두 캐시에 모두 저장)
+     * 주의: 쓰기 트랜잭션 안에서는 부르지 말 것 (커밋 전 값이 캐시에 들어감)
+     *
+     * @param region - 캐시 영역 (CacheRegions)
+     * @param key - 영역 안의 키 (보통 회원 id)
+     * @param type - 역직렬화할 타입
+     * @param loader - 캐시에 없을 때 DB에서 읽는 함수 (null을 리턴하면 저장 안함)
+     */
+    public <T> T get(String region, String key, Class<T> type, Supplier<T> loader) {
+        String cacheKey = region + ":" + key;
+
+        Object cached = near.getIfPresent(cacheKey);
+        if (cached != null) {
+            count(region, "near");
+            return type.cast(cached);
+        }
+
+        long generation = generations.get(stripe(cacheKey));
+        T value = readShared(cacheKey, type);
+        if (value != null) {
+            count(region, "shared");
+            if (generations.get(stripe(cacheKey)) == generation) {
+                near.put(cacheKey, value);
+            }
+            return value;
+        }
+
+        count(region, "miss");
+        value = loader.get();
+        if (value != null && generations.get(stripe(cacheKey)) == generation) {
+            near.put(cacheKey, value);
+            writeShared(cacheKey, value);
+        }
+        return value;
+    }
+
+    /**
+     * 공유 캐시에 있는 버전 값 (없으면 새로 뽑아서 SET NX -> 여러 서버가 동시에 뽑아도 먼저 넣은 값 하나로 맞춰짐)
+     * 버전을 키에 붙여서 get 하면, 무효화(evict로 버전 삭제) 전에 DB에서 읽은 옛날 값은
+     * 옛 버전 키에만 저장되니까 무효화 메시지가 늦게 와도 새 버전으로는 읽히지 않음
+     *
+     * @param region - 버전 영역 (CacheRegions)
+     * @param key - 영역 안의 키 (보통 회원 id)
+     * @return - 랜덤 버전 값 (base36)
+     */
+    public String version(String region, String key) {
+        String cacheKey = region + ":" + key;
+
+        Object cached = near.getIfPresent(cacheKey);
+        if (cached != null) {
+            count(region, "near");
+            return (String) cached;
+        }
+
+        long generation = generations.get(stripe(cacheKey));
+        String version = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, Character.MAX_RADIX);
+        try {
+            byte[] current = shared.get(cacheKey);
+            if (current == null && shared.putIfAbsent(cacheKey, version.getBytes(StandardCharsets.UTF_8), sharedTtl)) {
+                count(region, "miss");
+            } else {
+                // 다른 서버가 먼저 넣었으면 그 값으로
+                current = current != null ? current : shared.get(cacheKey);
+                if (current != null) {
+                    version = new String(current, StandardCharsets.UTF_8);
+                }
+                count(region, "shared");
+            }
+        } catch (Exception e) {
+            // 공유 캐시가 죽으면 이 서버에서만 쓰는 값 (서버마다 ETag가 달라서 304만 덜 나감)
+            meterRegistry.counter("cache.shared.errors", "op", "version").increment();
+            log.debug("공유 캐시 버전 조회 실패 - {}, err: {}", cacheKey, e.getMessage());
+        }
+        if (generations.get(stripe(cacheKey)) == generation) {
+            near.put(cacheKey, version);
+        }
+        return version;
+    }
+
+    // 이 서버와 공유 캐시에서 지우고 다른 서버들에게도 알림
+    public void evict(String region, String key) {
+        String cacheKey = region + ":" + key;
+        invalidateNear(cacheKey);
+        try {
+            shared.delete(cacheKey);
+            shared.publish(nodeId + " " + cacheKey);
+        } catch (Exception e) {
+            // 공유 캐시에 옛 값이 shared ttl(cache.shared.ttl-seconds) 동안 남음 - 다른 서버들도 near ttl이 지나면 그 옛 값을 다시 읽음
+            meterRegistry.counter("cache.shared.errors", "op", "evict").increment();
+            log.warn("공유 캐시 무효화 실패 - {}, err: {}", cacheKey, e.getMessage());
+        }
+    }
+
+    /**
+     * 같은 영역의 여러 키를 한번에 지움 (공유 목록 회원들의 목록 캐시처럼 한번에 여러 명이 바뀔 때)
+     * 키마다 evict 하면 Redis 왕복이 키 수 x 2번 -> EVICT_CHUNK 개씩 DEL 한번 + 무효화 메시지 하나
+     */
+    public void evictAll(String region, Collection<String> keys) {
+        List<String> cacheKeys = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            String cacheKey = region + ":" + key;
+            invalidateNear(cacheKey);
+            cacheKeys.add(cacheKey);
+        }
+        for (int from = 0; from < cacheKeys.size(); from += EVICT_CHUNK) {
+            List<String> chunk = cacheKeys.subList(from, Math.min(from + EVICT_CHUNK, cacheKeys.size()));
+            try {
+                shared.deleteAll(chunk);
+                // 키에는 줄바꿈이 없으니 줄 단위로 묶어서 보냄
+                shared.publish(nodeId + " " + String.join("\n", chunk));
+            } catch (Exception e) {
+                meterRegistry.counter("cache.shared.errors", "op", "evict").increment();
+                log.warn("공유 캐시 무효화 실패 - {} {}개, err: {}", region, chunk.size(), e.getMessage());
+            }
+        }
+    }
+
+    // 트랜잭션 안이면 커밋된 뒤에 지움 (롤백되면 안 지움)
+    public void evictAfterCommit(String region, String key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(region, key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(region, key);
+            }
+        });
+    }
+
+    // 다른 서버에서 무효화된 키를 받아보고 싶을 때 (ex: 목록 ETag 버전 올리기)
+    public void onRemoteEvict(String region, Consumer<String> listener) {
+        remoteListeners.computeIfAbsent(region, k -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    private void onMessage(String message) {
+        int space = message.indexOf(' ');
+        if (space < 0 || message.substring(0, space).equals(nodeId)) {
+            return;
+        }
+        // evictAll 이 보낸 메시지는 키가 여러 줄
+        for (String cacheKey : message.substring(space + 1).split("\n")) {
+            invalidateNear(cacheKey);
+
+            int colon = cacheKey.indexOf(':');
+            if (colon > 0) {
+                String region = cacheKey.substring(0, colon);
+                String key = cacheKey.substring(colon + 1);
+                remoteListeners.getOrDefault(region, List.of()).forEach(listener -> listener.accept(key));
+            }
+        }
+    }
+
+    private void invalidateNear(String cacheKey) {
+        generations.incrementAndGet(stripe(cacheKey));
+        near.invalidate(cacheKey);
+    }
+
+    private int stripe(String cacheKey) {
+        return (cacheKey.hashCode() & 0x7fffffff) % generations.length();
+    }
+
+    private <T> T readShared(String cacheKey, Class<T> type) {
+        try {
+            byte[] bytes = shared.get(cacheKey);
+            return bytes == null ? null : objectMapper.readValue(bytes, type);
+        } catch (Exception e) {
+            meterRegistry.counter("cache.shared.errors", "op", "get").increment();
+            log.debug("공유 캐시 조회 실패 - {}, err: {}", cacheKey, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeShared(String cacheKey, Object value) {
+        try {
+            shared.put(cacheKey, objectMapper.writeValueAsBytes(value), sharedTtl);
+        } catch (Exception e) {
+            meterRegistry.counter("cache.shared.errors", "op", "put").increment();
+            log.debug("공유 캐시 저장 실패 - {}, err: {}", cacheKey, e.getMessage());
+        }
+    }
+
+    private void count(String region, String result) {
+        meterRegistry.counter("cache.gets", "region", region, "result", result).increment();
+    }
+}
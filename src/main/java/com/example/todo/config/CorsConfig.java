@@ -17,6 +17,7 @@ public class CorsConfig implements WebMvcConfigurer {
                 .allowedOrigins("http://localhost:3000") // 어떤 클라이언트를 허용할지
                 .allowedMethods("*") // 어떤 요청 방식을 허용할지
                 .allowedHeaders("*") // 어떤 요청 헤더를 허용할지
+                .exposedHeaders("ETag", "Idempotent-Replayed") // 클라이언트 JS에서 읽을 수 있는 응답 헤더
                 .allowCredentials(true) // 쿠키 전달을 허용할것인지
                 .maxAge(3600) // 3600초 - 캐싱 시간을 설정 (3600초 동일한 요청이 오면, 클라이언트가 저장해서 써)
                 ;
@@ -0,0 +1,21 @@
+package com.example.todo.config;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+// 응답 직렬화 설정
+@Configuration
+public class JacksonConfig {
+
+    // Accept: application/x-jackson-smile 로 요청하면 json 대신 바이너리(smile)로 응답
+    // yml의 spring.jackson 설정(null 제외 등)을 그대로 따르도록 스프링이 만든 빌더를 사용
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(
+                builder.factory(new SmileFactory()).build()
+        );
+    }
+}
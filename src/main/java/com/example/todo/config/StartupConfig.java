@@ -0,0 +1,39 @@
+package com.example.todo.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.annotation.Schedules;
+
+import java.lang.management.ManagementFactory;
+
+// 기동 관련 설정
+// - fast-start 프로필(lazy-initialization)에서도 스케줄 작업이 있는 빈은 바로 만듦
+//   (lazy 빈은 누가 꺼내 쓰기 전까지 안 만들어져서 @Scheduled가 등록이 안 됨)
+// - 기동 시간을 로그로 남김 (측정용으로 뜨자마자 종료하는 건 loadTest 쪽 ReadyExitListener)
+@Configuration
+@Slf4j
+public class StartupConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter scheduledBeansExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && !MethodIntrospector.selectMethods(beanType,
+                (MethodIntrospector.MetadataLookup<Boolean>) method ->
+                        AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)
+                                || AnnotatedElementUtils.hasAnnotation(method, Schedules.class) ? Boolean.TRUE : null
+        ).isEmpty();
+    }
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        // JVM 시작부터 요청 받을 준비가 될 때까지 (클래스 로딩 포함)
+        long readyMs = ManagementFactory.getRuntimeMXBean().getUptime();
+        log.info("기동 완료 - {}ms", readyMs);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.todo.config;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.exporter.otlp.trace.OtlpGrpcSpanExporter;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SdkTracerProviderBuilder;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// 분산 추적(opentelemetry) 설정
+// 요청 하나가 필터 -> 서비스 -> 레포지토리/S3 를 지나면서 어디서 시간을 쓰는지 span으로 남김
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public SdkTracerProvider sdkTracerProvider(
+            @Value("${tracing.exporter:none}") String exporter
+            , @Value("${tracing.otlp.endpoint:http://localhost:4317}") String otlpEndpoint
+            , @Value("${tracing.sample-ratio:0.01}") double sampleRatio) {
+
+        SdkTracerProviderBuilder builder = SdkTracerProvider.builder()
+                .setResource(Resource.getDefault().merge(
+                        Resource.create(Attributes.of(AttributeKey.stringKey("service.name"), "todo-api"))));
+
+        switch (exporter) {
+            case "otlp":
+                builder.addSpanProcessor(BatchSpanProcessor.builder(
+                        OtlpGrpcSpanExporter.builder().setEndpoint(otlpEndpoint).build()).build());
+                builder.setSampler(Sampler.parentBased(Sampler.traceIdRatioBased(sampleRatio)));
+                break;
+            case "logging":
+                builder.addSpanProcessor(BatchSpanProcessor.builder(LoggingSpanExporter.create()).build());
+                builder.setSampler(Sampler.parentBased(Sampler.traceIdRatioBased(sampleRatio)));
+                break;
+            default:
+                builder.setSampler(Sampler.alwaysOff()); // none - span을 만들지 않음
+        }
+        return builder.build(); // 종료시 스프링이 close() 호출 -> 남은 span 전송
+    }
+
+    @Bean(destroyMethod = "")
+    public OpenTelemetry openTelemetry(SdkTracerProvider tracerProvider) {
+        return OpenTelemetrySdk.builder()
+                .setTracerProvider(tracerProvider)
+                .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance())) // traceparent 헤더
+                .build();
+    }
+
+    @Bean
+    public Tracer tracer(OpenTelemetry openTelemetry) {
+        return openTelemetry.getTracer("com.example.todo");
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.todo.config;
 
+import com.example.todo.filter.AdmissionControlFilter;
 import com.example.todo.filter.JwtAuthFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -22,6 +23,7 @@ import org.springframework.web.filter.CorsFilter;
 public class WebSecurityConfig {
 
     private final JwtAuthFilter jwtAuthFilter; // 10. 내가 만든 토큰검사용 필터 셋팅
+    private final AdmissionControlFilter admissionControlFilter;
 
     @Bean
     public PasswordEncoder passwordEncoder() {
@@ -45,7 +47,10 @@ public class WebSecurityConfig {
                 .authorizeRequests() // 인가요청들
                     .antMatchers(HttpMethod.PUT, "/api/auth/promote").authenticated() // 이 요청오면 인증받게해라
                     .antMatchers("/api/auth/load-profile").authenticated()
+                    .antMatchers(HttpMethod.DELETE, "/api/auth").authenticated() // 회원탈퇴
+                    .antMatchers(HttpMethod.POST, "/api/auth/logout").authenticated()
                     .antMatchers("/", "/api/auth/**").permitAll() // 이 요청은 그냥 허용한다 (.denyAll()은 모두 거절한다)
+                    .antMatchers("/actuator/health", "/actuator/prometheus").permitAll() // 모니터링 수집용 - 관리 포트(management.server)에서만 열림, 서비스 포트에는 없음
                 //.antMatchers(HttpMethod.POST, "/api/todos").hasRole("ADMIN") // 이 요청은 ADMIN 역할만 허용
                 .anyRequest().authenticated() // 그 외 나머지 요청들은 다 인증받아라
         ;
@@ -55,6 +60,8 @@ public class WebSecurityConfig {
                 jwtAuthFilter
                 , CorsFilter.class // CorsFilter뒤에 배치하겠다 (import주의 : 스프링꺼!!))
         );
+        // 요청 수 제한은 토큰 검사 바로 뒤 (회원 등급별로 한도가 다름)
+        http.addFilterAfter(admissionControlFilter, JwtAuthFilter.class);
         // 이렇게 하고, 톰켓돌리면 필터작동함. 인증,인가만 안하는거지. 필터를 추가해서 그냥 필터는 돌아감
         // 44번라인에 있는 경로로 들어가면 403 인증에러가 웹브라우저에 뜸
 
@@ -0,0 +1,12 @@
+package com.example.todo.exception;
+
+import lombok.NoArgsConstructor;
+
+// 없는 공유 목록이거나 회원이 아닌 경우 (회원이 아니면 목록이 있는지도 알려주지 않음)
+@NoArgsConstructor
+public class SharedListNotFoundException extends RuntimeException {
+
+    public SharedListNotFoundException(String message) {
+        super(message);
+    }
+}
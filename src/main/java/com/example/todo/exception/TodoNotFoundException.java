@@ -0,0 +1,11 @@
+package com.example.todo.exception;
+
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+public class TodoNotFoundException extends RuntimeException {
+
+    public TodoNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.todo.exception;
+
+import lombok.NoArgsConstructor;
+
+// 클라이언트가 알고있는 버전과 DB의 버전이 달라서 수정이 거절된 경우
+@NoArgsConstructor
+public class TodoVersionConflictException extends RuntimeException {
+
+    public TodoVersionConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.todo.filter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+// 요청 하나당 한 줄씩 남기는 접근 로그 필터
+// 시큐리티 필터보다 앞에 둬서 인증 시간까지 포함한 전체 처리시간을 잼
+// 로그는 ACCESS 로거로 나가고 logback-spring.xml의 비동기 appender가 씀
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("ACCESS");
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (ACCESS_LOG.isInfoEnabled()) {
+                ACCESS_LOG.info("method={} uri={} status={} duration_ms={} ip={}"
+                        , request.getMethod()
+                        , request.getRequestURI()
+                        , response.getStatus()
+                        , (System.nanoTime() - start) / 1_000_000
+                        , request.getRemoteAddr());
+            }
+        }
+    }
+
+    // 모니터링 수집 요청은 로그에서 제외
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+}
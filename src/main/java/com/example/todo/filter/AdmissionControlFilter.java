@@ -0,0 +1,182 @@
+package com.example.todo.filter;
+
+import com.example.todo.admission.AdaptiveConcurrencyLimit;
+import com.example.todo.auth.TokenUserInfo;
+import com.example.todo.userapi.entity.Role;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 요청 수 제한 필터 (JwtAuthFilter 바로 뒤 - 회원 등급을 알아야 해서)
+// 1. 경로 + 등급별 한도: 무거운 요청(로그인 bcrypt, 목록 조회 등)을 한 종류의 클라이언트가 다 차지하지 못하게 -> 429
+//    일반회원(COMMON)/비회원은 role-factor 만큼 상한이 낮음
+// 2. 서버 전체 한도: 응답이 느려지면 줄고 빨라지면 늘어남 (AIMD) -> 넘치면 기다리지 않고 503
+//    느린지는 경로별 한도가 자기 경로의 평소 응답시간과 비교해서 판정 (로그인이 조회보다 느린 건 정상)
+// 한도, 처리중, 대기중 수는 admission.* 게이지로, 거절은 admission.rejected 카운터로 남김
+@Component
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final String ANONYMOUS = "ANONYMOUS";
+
+    private final MeterRegistry meterRegistry;
+    private final Environment env;
+    private final boolean enabled;
+    private final long maxWaitNanos;
+    private final int maxQueue;
+    private final double backoffRatio;
+    private final double tolerance;
+    private final long latencyFloorMs;
+
+    private final AdaptiveConcurrencyLimit global;
+    private final Map<String, AdaptiveConcurrencyLimit> limits = new ConcurrentHashMap<>();
+
+    public AdmissionControlFilter(
+            MeterRegistry meterRegistry
+            , Environment env
+            , @Value("${admission.enabled:true}") boolean enabled
+            , @Value("${admission.max-wait-ms:50}") long maxWaitMs
+            , @Value("${admission.max-queue:20}") int maxQueue
+            , @Value("${admission.backoff-ratio:0.9}") double backoffRatio
+            , @Value("${admission.tolerance:2.0}") double tolerance
+            , @Value("${admission.latency-floor-ms:20}") long latencyFloorMs
+            , @Value("${admission.global.initial-limit:100}") int globalInitial
+            , @Value("${admission.global.min-limit:20}") int globalMin
+            , @Value("${admission.global.max-limit:400}") int globalMax) {
+        this.meterRegistry = meterRegistry;
+        this.env = env;
+        this.enabled = enabled;
+        this.maxWaitNanos = maxWaitMs * 1_000_000;
+        this.maxQueue = maxQueue;
+        this.backoffRatio = backoffRatio;
+        this.tolerance = tolerance;
+        this.latencyFloorMs = latencyFloorMs;
+
+        this.global = new AdaptiveConcurrencyLimit(globalInitial, globalMin, globalMax, 0
+                , backoffRatio, tolerance, latencyFloorMs);
+        registerGauges(global, Tags.of("route", "all", "role", "all"));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        String route = routeOf(request);
+        if (!enabled || route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String role = roleOf();
+        AdaptiveConcurrencyLimit limit = limitFor(route, role);
+
+        try {
+            // 내 등급/경로 몫이 찼으면 잠깐 기다려보고 429
+            if (!limit.tryAcquire(maxWaitNanos)) {
+                reject(response, HttpStatus.TOO_MANY_REQUESTS, route, role, "quota");
+                return;
+            }
+            // 서버 전체가 찼으면 기다리지 않고 503 (대기열이 쌓이면 응답시간만 길어짐)
+            if (!global.tryAcquire(0)) {
+                limit.cancel();
+                reject(response, HttpStatus.SERVICE_UNAVAILABLE, route, role, "overload");
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, route, role, "overload");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean dropped = true;
+        try {
+            filterChain.doFilter(request, response);
+            dropped = response.getStatus() >= 500;
+        } finally {
+            long latency = System.nanoTime() - start;
+            boolean congested = limit.release(latency, dropped);
+            global.releaseJudged(latency, congested);
+        }
+    }
+
+    // 제한하지 않는 요청은 null (모니터링 수집, SSE 구독(연결이 오래 가고 구독자 수 제한이 따로 있음), CORS preflight)
+    static String routeOf(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String method = request.getMethod();
+        if (uri.startsWith("/actuator") || uri.equals("/api/todos/stream") || HttpMethod.OPTIONS.matches(method)) {
+            return null;
+        }
+        if (uri.equals("/api/auth/signin")) {
+            return "signin";
+        }
+        if (uri.equals("/api/auth") && HttpMethod.POST.matches(method)) {
+            return "signup";
+        }
+        if (uri.startsWith("/api/todos")) {
+            return HttpMethod.GET.matches(method) ? "todo-read" : "todo-write";
+        }
+        return "default";
+    }
+
+    private static String roleOf() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof TokenUserInfo) {
+            return ((TokenUserInfo) auth.getPrincipal()).getRole().name();
+        }
+        return ANONYMOUS;
+    }
+
+    // 경로별 상한(route-limit) * 등급 배율(role-factor)
+    private AdaptiveConcurrencyLimit limitFor(String route, String role) {
+        return limits.computeIfAbsent(route + ":" + role, key -> {
+            int routeMax = env.getProperty("admission.route-limit." + route, Integer.class, 100);
+            double factor = env.getProperty("admission.role-factor." + role, Double.class
+                    , Role.COMMON.name().equals(role) || ANONYMOUS.equals(role) ? 0.5 : 1.0);
+            int max = Math.max(1, (int) (routeMax * factor));
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(Math.max(1, max / 2), 1, max, maxQueue
+                    , backoffRatio, tolerance, latencyFloorMs);
+            registerGauges(limit, Tags.of("route", route, "role", role));
+            return limit;
+        });
+    }
+
+    private void registerGauges(AdaptiveConcurrencyLimit limit, Tags tags) {
+        Gauge.builder("admission.limit", limit, AdaptiveConcurrencyLimit::getLimit).tags(tags).register(meterRegistry);
+        Gauge.builder("admission.inflight", limit, AdaptiveConcurrencyLimit::getInFlight).tags(tags).register(meterRegistry);
+        Gauge.builder("admission.queue.depth", limit, AdaptiveConcurrencyLimit::getWaiting).tags(tags).register(meterRegistry);
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String route, String role, String reason)
+            throws IOException {
+        meterRegistry.counter("admission.rejected", "route", route, "role", role, "reason", reason).increment();
+        log.debug("요청 거절 - route: {}, role: {}, reason: {}", route, role, reason);
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getOutputStream().write((status == HttpStatus.TOO_MANY_REQUESTS
+                ? "요청이 너무 많습니다. 잠시 후 다시 시도해주세요."
+                : "서버가 바쁩니다. 잠시 후 다시 시도해주세요.").getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,7 +1,11 @@
 package com.example.todo.filter;
 
 import com.example.todo.auth.TokenProvider;
+import com.example.todo.auth.TokenRevocationList;
 import com.example.todo.auth.TokenUserInfo;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
@@ -28,7 +32,11 @@ import java.util.List;
 @RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter { // OncePerRequestFilter 모든 요청마다 한번씩 검사하는 필터
 
+    private static final String STREAM_URI = "/api/todos/stream";
+
     private final TokenProvider tokenProvider;
+    private final TokenRevocationList tokenRevocationList;
+    private final Tracer tracer;
 
     // 필터가 해야할 작업을 기술
     // 필터 설정 (1~8), 필터체인에 내 필터 연결하기(9~13)
@@ -38,16 +46,29 @@ public class JwtAuthFilter extends OncePerRequestFilter { // OncePerRequestFilte
             HttpServletResponse response, // 응답정보생성(쿠키 실어보내기, 리다이렉트 응답 등)
             FilterChain filterChain) throws ServletException, IOException {
 
-        try {
+        // 토큰 검사 구간을 span으로 남김 (요청 span의 자식)
+        Span span = tracer.spanBuilder("JwtAuthFilter").startSpan();
+        try (Scope scope = span.makeCurrent()) {
             // 1.
             String token = parseBearerToken(request);
-            log.info("파싱한 토큰(Bearer 뗀 토큰)!!!! Jwt Token Filter is running... - token: {},", token);
+            // 토큰 원문은 로그에 남기지 않음 (로그가 유출되면 그대로 로그인 가능)
+            log.debug("Jwt Token Filter is running... - token present: {}", token != null);
 
             // 2. 토큰 위조검사 및 인증 완료 처리
+            TokenUserInfo userInfo = null;
             if (token != null) {
-
                 // 3. 토큰 서명위조 검사와 토큰을 파싱해서 클레임(유저정보)을 얻어내는 작업 -> tokenProvider에서 작업하기 (SECRET_KEY 가지고 있어서 -> 객체지향) -> tokenProvider에게 의존하기
-                TokenUserInfo userInfo = tokenProvider.validatedAndGetTokenUserInfo(token);
+                userInfo = tokenProvider.validatedAndGetTokenUserInfo(token);
+
+                // 로그아웃/등급변경/탈퇴로 폐기된 토큰은 인증하지 않음 (서명이 맞아도)
+                if (tokenRevocationList.isRevoked(userInfo)) {
+                    log.debug("폐기된 토큰입니다. - user: {}", userInfo.getUserId());
+                    span.setAttribute("auth.revoked", true);
+                    userInfo = null;
+                }
+            }
+
+            if (userInfo != null) {
 
                 // 5. 인가 정보 리스트
                 List<SimpleGrantedAuthority> authorityList = new ArrayList<>();
@@ -73,8 +94,11 @@ public class JwtAuthFilter extends OncePerRequestFilter { // OncePerRequestFilte
             
             // 8. tokenProvider에서 위조 검사시, 토큰 위조된거 발견하는 경우 익셉션터짐. 트롸이캐치로 잡기
         } catch (Exception e) {
-            e.printStackTrace();
-            log.error("토큰이 위조되었습니다. - tokenProvider에서 위조 검사하는데, 토큰이 위조된 걸 발견!!!!!!!!!!!!!!!!!!!!!!!!!!!!!");
+            // printStackTrace는 요청마다 동기로 콘솔에 쓰니까 메시지만 남김
+            log.warn("토큰이 위조되었습니다. - {}", e.getMessage());
+            span.setAttribute("auth.rejected", true);
+        } finally {
+            span.end();
         }
 
 
@@ -99,6 +123,13 @@ public class JwtAuthFilter extends OncePerRequestFilter { // OncePerRequestFilte
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer")) {
             return bearerToken.substring(7); //Bearer+공백1칸 = 7개 잘라줘야함
         }
+        // 브라우저 EventSource는 헤더를 못 붙여서 SSE 구독 요청만 쿼리파라미터 토큰 허용
+        if (STREAM_URI.equals(request.getRequestURI())) {
+            String queryToken = request.getParameter("token");
+            if (StringUtils.hasText(queryToken)) {
+                return queryToken;
+            }
+        }
         return null;
     }
 }
@@ -0,0 +1,163 @@
+package com.example.todo.idempotency;
+
+import com.example.todo.cache.SharedCacheTier;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Idempotency-Key 헤더로 온 요청의 결과를 잠깐 기억해두는 저장소
+// - 네트워크가 끊겨서 클라이언트가 같은 키로 다시 보내면 DB/S3/비밀번호 암호화 없이 처음 결과로 응답
+// - 공유 캐시(Redis)에 저장 -> 재시도가 다른 서버로 가도 다시 실행되지 않음
+// - 응답 전체가 아니라 상태코드 + 만든 것의 id만 저장, 재시도 때 id로 응답을 다시 만듦 (메모리를 적게 씀)
+// - 요청 내용은 sha-256으로만 비교, 키 선점은 SET NX (처리중 표시는 in-flight-seconds 뒤에 풀림 -> 처리하다 죽은 서버의 키가 하루종일 묶이지 않음)
+// - 성공(2xx)만 저장, 실패하면 키를 풀어서 다시 시도할 수 있게 함
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final String KEY_PREFIX = "idempotency:";
+
+    private final SharedCacheTier shared;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration inFlightTtl;
+
+    public IdempotencyStore(
+            SharedCacheTier shared
+            , ObjectMapper objectMapper
+            , @Value("${idempotency.ttl-seconds:86400}") long ttlSeconds
+            , @Value("${idempotency.in-flight-seconds:60}") long inFlightSeconds) {
+        this.shared = shared;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.inFlightTtl = Duration.ofSeconds(inFlightSeconds);
+    }
+
+    /**
+     * 키가 처음이면 action을 실행하고 결과(상태코드, id)를 저장, 이미 끝난 키면 저장된 id로 응답을 다시 만듦
+     *
+     * @param scope - 키가 겹치지 않게 나누는 범위 (ex: "todo:{userId}", "signup")
+     * @param key - 클라이언트가 보낸 Idempotency-Key (null이면 그냥 실행)
+     * @param fingerprint - 요청 내용 요약 (같은 키로 다른 요청을 보내면 422)
+     * @param action - 실제 처리
+     * @param idOf - 성공 응답 body에서 만든 것의 id를 꺼내는 함수 (null 리턴 가능)
+     * @param replay - 저장된 id로 응답 body를 다시 만드는 함수
+     * @return - 처리 결과 또는 다시 만든 응답
+     */
+    public ResponseEntity<?> execute(String scope, String key, String fingerprint
+            , Supplier<ResponseEntity<?>> action
+            , Function<Object, String> idOf
+            , Function<String, Object> replay) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            return ResponseEntity.badRequest().body(HEADER + " 값이 올바르지 않습니다.");
+        }
+
+        String storeKey = KEY_PREFIX + scope + ":" + key;
+        fingerprint = digest(fingerprint); // 요청 내용(이메일 등)을 그대로 저장하지 않음
+        try {
+            if (!shared.putIfAbsent(storeKey, write(new Record(fingerprint, 0, null)), inFlightTtl)) {
+                Record existing = read(storeKey);
+                if (existing != null) {
+                    return replay(storeKey, existing, fingerprint, replay);
+                }
+                // 그 사이에 실패해서 풀렸거나 만료됨 -> 한번 더 선점
+                if (!shared.putIfAbsent(storeKey, write(new Record(fingerprint, 0, null)), inFlightTtl)) {
+                    return ResponseEntity.status(HttpStatus.CONFLICT).body("같은 요청을 처리하고 있습니다.");
+                }
+            }
+        } catch (Exception e) {
+            // 공유 캐시가 죽어도 요청은 처리 (중복 방지만 못함)
+            log.warn("{} 저장소 사용 불가 - 그냥 처리, err: {}", HEADER, e.getMessage());
+            return action.get();
+        }
+
+        ResponseEntity<?> response = null;
+        try {
+            response = action.get();
+            return response;
+        } finally {
+            complete(storeKey, fingerprint, response, idOf);
+        }
+    }
+
+    private ResponseEntity<?> replay(String storeKey, Record existing, String fingerprint, Function<String, Object> replay) {
+        if (!Objects.equals(existing.getFingerprint(), fingerprint)) {
+            return ResponseEntity.unprocessableEntity().body("같은 " + HEADER + "로 다른 요청을 보냈습니다.");
+        }
+        if (existing.getStatus() == 0) {
+            // 첫 요청이 아직 처리중 - 끝난 뒤에 다시 보내면 처음 결과를 받음
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("같은 요청을 처리하고 있습니다.");
+        }
+        log.debug("처음 결과로 응답 - {}", storeKey);
+        return ResponseEntity.status(existing.getStatus())
+                .header(REPLAYED_HEADER, "true")
+                .body(replay.apply(existing.getId()));
+    }
+
+    private void complete(String storeKey, String fingerprint, ResponseEntity<?> response, Function<Object, String> idOf) {
+        try {
+            if (response != null && response.getStatusCode().is2xxSuccessful()) {
+                Record done = new Record(fingerprint, response.getStatusCodeValue(), idOf.apply(response.getBody()));
+                shared.put(storeKey, write(done), ttl);
+            } else {
+                shared.delete(storeKey);
+            }
+        } catch (Exception e) {
+            // 처리중 표시는 in-flight ttl이 지나면 풀림
+            log.warn("{} 결과 저장 실패 - err: {}", HEADER, e.getMessage());
+        }
+    }
+
+    private static String digest(String fingerprint) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(String.valueOf(fingerprint).getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // 모든 JVM에 있음
+        }
+    }
+
+    private Record read(String storeKey) throws IOException {
+        byte[] bytes = shared.get(storeKey);
+        return bytes == null ? null : objectMapper.readValue(bytes, Record.class);
+    }
+
+    private byte[] write(Record record) throws IOException {
+        return objectMapper.writeValueAsBytes(record);
+    }
+
+    // 공유 캐시에 저장하는 값 (status가 0이면 처리중)
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Record {
+
+        private String fingerprint;
+        private int status;
+        private String id; // 만든 것의 id (응답을 다시 만들 때 씀)
+    }
+}
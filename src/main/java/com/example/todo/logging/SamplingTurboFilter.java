@@ -0,0 +1,62 @@
+package com.example.todo.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 요청마다 찍히는 로그(핫패스)를 N개 중 1개만 남기는 logback 필터 (logback-spring.xml에서 설정)
+// 메시지를 만들기 전에 걸러내니까 버려지는 로그는 문자열 포맷팅 비용도 안 듦
+// WARN 이상은 항상 남김
+public class SamplingTurboFilter extends TurboFilter {
+
+    private final List<String> loggerPrefixes = new ArrayList<>();
+    private Level maxLevel = Level.INFO; // 이 레벨 이하만 샘플링
+    private long every = 100; // N개 중 1개만 남김
+    private final AtomicLong counter = new AtomicLong();
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+
+        // format이 null이면 isDebugEnabled() 같은 레벨 확인 호출 -> 샘플을 소모하지 않음
+        if (format == null || every <= 1 || level.toInt() > maxLevel.toInt()) {
+            return FilterReply.NEUTRAL;
+        }
+        // 어차피 안찍힐 레벨이면 카운트하지 않음 (logger.isEnabledFor는 이 필터를 다시 부르니까 직접 비교)
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel()) || !matches(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        return counter.incrementAndGet() % every == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private boolean matches(String loggerName) {
+        for (String prefix : loggerPrefixes) {
+            if (loggerName.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // logback 설정파일에서 호출되는 세터들
+    public void setLoggers(String loggers) {
+        for (String prefix : loggers.split(",")) {
+            if (!prefix.isBlank()) {
+                loggerPrefixes.add(prefix.trim());
+            }
+        }
+    }
+
+    public void setEvery(long every) {
+        this.every = every;
+    }
+
+    public void setMaxLevel(String maxLevel) {
+        this.maxLevel = Level.toLevel(maxLevel, Level.INFO);
+    }
+}
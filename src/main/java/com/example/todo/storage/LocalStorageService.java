@@ -0,0 +1,77 @@
+package com.example.todo.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.*;
+
+// 로컬 디스크 저장소 (storage.type=local) - 네트워크 없는 사내 서버나 테스트용
+// - 파일명 앞글자로 두 단계 하위폴더를 나눔 (한 폴더에 파일이 몇십만개씩 쌓이지 않게)
+// - 임시파일에 다 쓴 다음 rename -> 읽는 쪽이 반쯤 쓰인 파일을 보지 않음
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "storage.type", havingValue = "local")
+public class LocalStorageService implements StorageService {
+
+    private final Path root;
+
+    public LocalStorageService(@Value("${storage.local.root:${upload.path}}") String root) throws IOException {
+        this.root = Files.createDirectories(Paths.get(root)).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public String store(Path source, String fileName) throws IOException {
+        String location = shard(fileName) + "/" + fileName;
+        Path target = resolve(location);
+        Files.createDirectories(target.getParent());
+
+        // 같은 폴더에 임시파일 -> 같은 파일시스템이라 rename이 원자적
+        Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+        try {
+            Files.copy(source, temp, StandardCopyOption.REPLACE_EXISTING);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        log.debug("로컬 저장소에 저장 - {}", location);
+        return location;
+    }
+
+    @Override
+    public Resource load(String location) throws IOException {
+        Path file = resolve(location);
+        return Files.isRegularFile(file) ? new FileSystemResource(file) : null;
+    }
+
+    @Override
+    public void delete(String location) throws IOException {
+        Files.deleteIfExists(resolve(location));
+    }
+
+    // "ab/cd" - 파일명이 내용 sha-256(hex)으로 시작해서 골고루 나뉨
+    private static String shard(String fileName) {
+        String name = fileName.replaceAll("[^A-Za-z0-9]", "");
+        while (name.length() < 4) {
+            name += "0";
+        }
+        return name.substring(0, 2).toLowerCase() + "/" + name.substring(2, 4).toLowerCase();
+    }
+
+    // 저장소 폴더 밖의 경로(../ 등)는 거부
+    private Path resolve(String location) throws IOException {
+        Path path = root.resolve(location).normalize();
+        if (!path.startsWith(root)) {
+            throw new IOException("잘못된 파일 위치입니다 - " + location);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.todo.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// 업로드 파일 저장소 (storage.type 설정으로 S3 / 로컬 디스크 중 하나가 빈으로 등록됨)
+// 파일을 통째로 메모리에 올리지 않도록 저장은 로컬 파일에서, 조회는 스트림(Resource)으로
+public interface StorageService {
+
+    /**
+     * 로컬 파일을 저장소에 저장
+     *
+     * @param source - 저장할 파일 (임시파일)
+     * @param fileName - 저장할 파일명 (유니크해야 함)
+     * @return - 저장된 위치 (회원 profileImg에 들어가는 값)
+     */
+    String store(Path source, String fileName) throws IOException;
+
+    /**
+     * 저장된 파일을 스트림으로 읽을 수 있는 Resource로 리턴
+     *
+     * @param location - store가 리턴했던 위치
+     * @return - 파일이 없으면 null
+     */
+    Resource load(String location) throws IOException;
+
+    void delete(String location) throws IOException;
+}
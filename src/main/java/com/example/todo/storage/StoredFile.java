@@ -0,0 +1,40 @@
+package com.example.todo.storage;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+// 저장소에 올라간 파일 한 개 (내용 해시가 키)
+// 같은 이미지를 여러 회원이 올려도 한 번만 저장하고 refCount로 몇 명이 쓰는지 셈
+// refCount가 0이 된 뒤 grace 기간이 지나면 정리 작업이 저장소에서 지움
+@Getter
+@ToString
+@EqualsAndHashCode(of = "contentKey")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+@Entity
+@Table(name = "tbl_stored_file", indexes = {
+        @Index(name = "idx_stored_file_location", columnList = "location", unique = true),
+        @Index(name = "idx_stored_file_released", columnList = "ref_count, released_at")
+})
+public class StoredFile {
+
+    @Id
+    @Column(name = "content_key", length = 80)
+    private String contentKey; // sha-256 hex + 확장자
+
+    @Column(nullable = false, length = 512)
+    private String location; // 저장소가 리턴한 위치 (회원 profileImg 값)
+
+    @Column(name = "ref_count")
+    private int refCount;
+
+    private LocalDateTime createdAt;
+
+    @Column(name = "released_at")
+    private LocalDateTime releasedAt; // refCount가 마지막으로 줄어든 시간
+
+}
@@ -0,0 +1,45 @@
+package com.example.todo.storage;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StoredFileRepository extends JpaRepository<StoredFile, String> {
+
+    // 이미 저장된 내용이면 참조 +1 (없으면 0 -> 업로드 필요)
+    // 정리 작업이 이 행을 잠그고 지우는 중이면 끝날때까지 기다렸다가 0을 받음
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE StoredFile f SET f.refCount = f.refCount + 1 WHERE f.contentKey = :key")
+    int acquire(@Param("key") String contentKey);
+
+    @Query("SELECT f.location FROM StoredFile f WHERE f.contentKey = :key")
+    String findLocation(@Param("key") String contentKey);
+
+    // 업로드 직후 등록 (동시에 같은 내용을 올린 경우 참조만 +1)
+    @Modifying
+    @Query(value = "INSERT INTO tbl_stored_file (content_key, location, ref_count, created_at) " +
+            "VALUES (:key, :location, 1, :now) ON DUPLICATE KEY UPDATE ref_count = ref_count + 1"
+            , nativeQuery = true)
+    int register(@Param("key") String contentKey, @Param("location") String location, @Param("now") LocalDateTime now);
+
+    // 참조 -1 (옛날 방식으로 저장된 파일은 행이 없어서 0)
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE StoredFile f SET f.refCount = f.refCount - 1, f.releasedAt = :now " +
+            "WHERE f.location = :location AND f.refCount > 0")
+    int release(@Param("location") String location, @Param("now") LocalDateTime now);
+
+    // 정리 대상 - 아무도 안 쓴지 오래된 파일
+    @Query(value = "SELECT content_key FROM tbl_stored_file WHERE ref_count = 0 AND released_at < :before LIMIT :limit"
+            , nativeQuery = true)
+    List<String> findReleasedKeys(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+    // 지우는 동안 acquire가 끼어들지 못하게 잠금 (아직 0일 때만)
+    @Query(value = "SELECT location FROM tbl_stored_file WHERE content_key = :key AND ref_count = 0 FOR UPDATE"
+            , nativeQuery = true)
+    String lockReleased(@Param("key") String contentKey);
+
+}
@@ -0,0 +1,92 @@
+package com.example.todo.todoapi.api;
+
+import com.example.todo.auth.TokenUserInfo;
+import com.example.todo.exception.NoRegisteredArgumentsException;
+import com.example.todo.exception.SharedListNotFoundException;
+import com.example.todo.todoapi.dto.request.SharedListCreateRequestDTO;
+import com.example.todo.todoapi.dto.request.SharedListMemberRequestDTO;
+import com.example.todo.todoapi.dto.response.SharedListListResponseDTO;
+import com.example.todo.todoapi.dto.response.SharedListResponseDTO;
+import com.example.todo.todoapi.service.SharedListService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.function.Supplier;
+
+// 공유 목록 - 회원들이 같이 보는 할 일 목록
+// 공유 목록에 할 일을 넣으려면 POST /api/todos 에 listId를 같이 보냄
+@RestController
+@Slf4j
+@RequiredArgsConstructor
+@RequestMapping("/api/lists")
+public class SharedListController {
+
+    private final SharedListService sharedListService;
+
+    // 내가 속한 공유 목록
+    @GetMapping
+    public ResponseEntity<?> retrieveLists(@AuthenticationPrincipal TokenUserInfo userInfo) {
+        SharedListListResponseDTO responseDTO = sharedListService.retrieve(userInfo.getUserId());
+        return ResponseEntity.ok().body(responseDTO);
+    }
+
+    // 공유 목록 만들기
+    @PostMapping
+    public ResponseEntity<?> createList(
+            @AuthenticationPrincipal TokenUserInfo userInfo
+            , @Validated @RequestBody SharedListCreateRequestDTO requestDTO
+            , BindingResult result
+    ) {
+        if (result.hasErrors()) {
+            log.warn("DTO 검증 에러 발생 : {}", result.getFieldError());
+            return ResponseEntity.badRequest().body(result.getFieldError());
+        }
+        return handle(() -> sharedListService.create(userInfo.getUserId(), requestDTO));
+    }
+
+    // 회원 추가 (목록을 만든 회원만)
+    // POST: /api/lists/{listId}/members  { "email": "..." }
+    @PostMapping("/{listId}/members")
+    public ResponseEntity<?> addMember(
+            @AuthenticationPrincipal TokenUserInfo userInfo
+            , @PathVariable("listId") String listId
+            , @Validated @RequestBody SharedListMemberRequestDTO requestDTO
+            , BindingResult result
+    ) {
+        if (result.hasErrors()) {
+            log.warn("DTO 검증 에러 발생 : {}", result.getFieldError());
+            return ResponseEntity.badRequest().body(result.getFieldError());
+        }
+        return handle(() -> sharedListService.addMember(userInfo.getUserId(), listId, requestDTO.getEmail()));
+    }
+
+    // 회원 내보내기 / 목록 나가기 (내 id를 보내면 나가기)
+    @DeleteMapping("/{listId}/members/{userId}")
+    public ResponseEntity<?> removeMember(
+            @AuthenticationPrincipal TokenUserInfo userInfo
+            , @PathVariable("listId") String listId
+            , @PathVariable("userId") String memberId
+    ) {
+        return handle(() -> sharedListService.removeMember(userInfo.getUserId(), listId, memberId));
+    }
+
+    private ResponseEntity<?> handle(Supplier<SharedListResponseDTO> action) {
+        try {
+            return ResponseEntity.ok().body(action.get());
+        } catch (SharedListNotFoundException | NoRegisteredArgumentsException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(SharedListListResponseDTO.builder().error(e.getMessage()).build());
+        } catch (IllegalStateException e) {
+            // 권한때문에 발생한 예외
+            log.warn(e.getMessage());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(SharedListListResponseDTO.builder().error(e.getMessage()).build());
+        }
+    }
+}
@@ -1,21 +1,43 @@
 package com.example.todo.todoapi.api;
 
 import com.example.todo.auth.TokenUserInfo;
+import com.example.todo.exception.SharedListNotFoundException;
+import com.example.todo.exception.TodoNotFoundException;
+import com.example.todo.idempotency.IdempotencyStore;
+import com.example.todo.exception.TodoVersionConflictException;
 import com.example.todo.todoapi.dto.request.TodoCreateRequestDTO;
+import com.example.todo.todoapi.dto.request.TodoFilterRequestDTO;
 import com.example.todo.todoapi.dto.request.TodoModifyRequestDTO;
+import com.example.todo.todoapi.dto.request.TodoScheduleRequestDTO;
+import com.example.todo.todoapi.dto.response.TodoArchiveListResponseDTO;
+import com.example.todo.todoapi.dto.response.TodoDetailResponseDTO;
 import com.example.todo.todoapi.dto.response.TodoListResponseDTO;
+import com.example.todo.todoapi.dto.response.TodoStatsResponseDTO;
+import com.example.todo.todoapi.search.TodoSearchIndex;
+import com.example.todo.todoapi.service.TodoArchiveService;
+import com.example.todo.todoapi.service.TodoListVersionTracker;
 import com.example.todo.todoapi.service.TodoService;
+import com.example.todo.todoapi.service.TodoStatsService;
+import com.example.todo.todoapi.snapshot.TodoSnapshotStore;
+import com.example.todo.todoapi.stream.TodoStreamHub;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import javax.servlet.http.HttpServletRequest;
+import java.util.List;
 
 @RestController
 @Slf4j
@@ -25,26 +47,156 @@ import javax.servlet.http.HttpServletRequest;
 public class TodoController {
 
     private final TodoService todoService;
+    private final TodoListVersionTracker listVersionTracker;
+    private final TodoStreamHub todoStreamHub;
+    private final TodoSearchIndex todoSearchIndex;
+    private final TodoStatsService todoStatsService;
+    private final TodoArchiveService todoArchiveService;
+    private final IdempotencyStore idempotencyStore;
+    private final TodoSnapshotStore todoSnapshotStore;
 
     // 할 일 목록요청 (GET)
+    // If-None-Match로 보낸 ETag가 현재 목록 버전과 같으면 DB 조회 없이 304 응답
+    // GET: /api/todos?done=false&from=2023-06-01&to=2023-06-30&sort=createDate,desc
     @GetMapping
     public ResponseEntity<?> retrieveTodoList(
             // 토큰에 인증된 사용자 정보를 불러올 수 있음
             @AuthenticationPrincipal TokenUserInfo userInfo
+            , TodoFilterRequestDTO filter
+            , WebRequest webRequest
     ) {
-        log.info("/api/todos GET request!");
+        log.debug("/api/todos GET request!");
 
-        TodoListResponseDTO responseDTO = todoService.retrieve(userInfo.getUserId());
+        // 목록 조회 전에 버전을 먼저 읽어야 함
+        // 같은 URL로 json/smile 둘 다 나가니까 ETag에 형식을 붙임 -> Accept를 바꾼 클라이언트가 다른 형식 본문으로 304를 받지 않음
+        boolean json = acceptsJson(webRequest);
+        String eTag = listVersionTracker.currentTag(userInfo.getUserId()) + (json ? "-json" : "-smile");
+        if (webRequest.checkNotModified(eTag)) {
+            return null; // 304 Not Modified (스프링이 응답 처리함)
+        }
+
+        // 전체 목록(json)은 저장해둔 스냅샷 바이트를 그대로 내려보냄 (smile 요청은 아래에서 직렬화)
+        if (todoSnapshotStore.isEnabled() && filter.isUnfiltered() && json) {
+            byte[] snapshot = todoService.retrieveSnapshot(userInfo.getUserId());
+            return ResponseEntity.ok()
+                    .eTag(eTag)
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(snapshot);
+        }
+
+        TodoListResponseDTO responseDTO;
+        try {
+            responseDTO = todoService.retrieve(userInfo.getUserId(), filter);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(TodoListResponseDTO.builder().error(e.getMessage()).build());
+        }
+
+        // 필터가 달라도 목록 버전은 같음 (캐시는 URL별로 따로 저장하니까 ETag를 같이 써도 됨)
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .varyBy(HttpHeaders.ACCEPT) // 캐시도 Accept별로 따로 저장
+                .cacheControl(CacheControl.noCache().cachePrivate()) // 매번 서버에 확인받고 쓰라는 뜻
+                .body(responseDTO);
+    }
+
+    private static boolean acceptsJson(WebRequest webRequest) {
+        String accept = webRequest.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return true;
+        }
+        try {
+            // 제일 선호하는 타입이 json일 때만 (smile을 더 원하면 직렬화 경로로)
+            List<MediaType> types = MediaType.parseMediaTypes(accept);
+            MediaType.sortBySpecificityAndQuality(types);
+            return !types.isEmpty() && types.get(0).includes(MediaType.APPLICATION_JSON);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    // 할 일 변경 스트림 구독 (SSE) - 폴링 대신 연결 하나로 변경사항을 받음
+    // EventSource는 헤더를 못 붙이니까 토큰은 ?token= 으로도 받음 (JwtAuthFilter 참고)
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamTodos(
+            @AuthenticationPrincipal TokenUserInfo userInfo
+            , @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        log.debug("/api/todos/stream GET request! - lastEventId: {}", lastEventId);
+
+        try {
+            SseEmitter emitter = todoStreamHub.subscribe(userInfo.getUserId(), lastEventId);
+            return ResponseEntity.ok()
+                    .header("X-Accel-Buffering", "no") // nginx가 이벤트를 모아서 보내지 않게
+                    .body(emitter);
+        } catch (IllegalStateException e) {
+            log.warn(e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        }
+    }
+
+    // 할 일 통계 (전체/완료/미완료 개수 + 최근 며칠 등록일별 완료현황)
+    // GET: /api/todos/stats?days=30
+    @GetMapping("/stats")
+    public ResponseEntity<?> todoStats(
+            @AuthenticationPrincipal TokenUserInfo userInfo
+            , @RequestParam(value = "days", defaultValue = "30") int days
+    ) {
+        if (days < 1 || days > 366) {
+            return ResponseEntity.badRequest()
+                    .body(TodoStatsResponseDTO.builder().error("days는 1~366 사이여야 합니다.").build());
+        }
+        TodoStatsResponseDTO responseDTO = todoStatsService.getStats(userInfo.getUserId(), days);
+        return ResponseEntity.ok().body(responseDTO);
+    }
 
+    // 보관된(오래된 완료) 할 일 페이지 조회
+    // GET: /api/todos/archive?page=0&size=20
+    @GetMapping("/archive")
+    public ResponseEntity<?> retrieveArchivedTodos(
+            @AuthenticationPrincipal TokenUserInfo userInfo
+            , @RequestParam(value = "page", defaultValue = "0") int page
+            , @RequestParam(value = "size", defaultValue = "20") int size
+    ) {
+        if (page < 0 || size < 1 || size > 100) {
+            return ResponseEntity.badRequest()
+                    .body(TodoArchiveListResponseDTO.builder().error("page는 0 이상, size는 1~100 이어야 합니다.").build());
+        }
+        TodoArchiveListResponseDTO responseDTO = todoArchiveService.retrieve(userInfo.getUserId(), page, size);
         return ResponseEntity.ok().body(responseDTO);
     }
 
+    // 할 일 제목 검색
+    // GET: /api/todos/search?q=장보기
+    @GetMapping("/search")
+    public ResponseEntity<?> searchTodos(
+            @AuthenticationPrincipal TokenUserInfo userInfo
+            , @RequestParam(value = "q", required = false) String query
+    ) {
+        log.debug("/api/todos/search GET request! - q: {}", query);
+
+        if (query == null || query.trim().equals("")) {
+            return ResponseEntity.badRequest()
+                    .body(TodoListResponseDTO.builder().error("검색어를 입력해주세요").build());
+        }
+
+        List<TodoDetailResponseDTO> found = todoSearchIndex.search(userInfo.getUserId(), query);
+        return ResponseEntity.ok()
+                .body(TodoListResponseDTO.builder().todos(found).build());
+    }
+
     // 할 일 등록 요청
+    // Idempotency-Key 헤더가 있으면 같은 키로 재전송된 요청은 다시 등록하지 않고 처음 응답을 돌려줌
     @PostMapping
     public ResponseEntity<?> createTodo(
             @AuthenticationPrincipal TokenUserInfo userInfo
             , @Validated @RequestBody TodoCreateRequestDTO requestDTO
             , BindingResult result
+            , @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey
     ) {
         if (result.hasErrors()) {
             log.warn("DTO 검증 에러 발생 : {}", result.getFieldError());
@@ -53,6 +205,15 @@ public class TodoController {
                     .body(result.getFieldError());
         }
 
+        // 요청 내용 전체(제목, 마감/알림, 공유 목록)로 비교 - 하나라도 다르면 422
+        // 등록 응답은 회원의 목록 전체라 id는 저장하지 않고 재시도 때 지금 목록으로 다시 만듦
+        return idempotencyStore.execute("todo:" + userInfo.getUserId(), idempotencyKey, requestDTO.toString()
+                , () -> create(requestDTO, userInfo)
+                , body -> null
+                , id -> todoService.retrieve(userInfo.getUserId()));
+    }
+
+    private ResponseEntity<?> create(TodoCreateRequestDTO requestDTO, TokenUserInfo userInfo) {
         try {
             TodoListResponseDTO responseDTO = todoService.create(requestDTO, userInfo);
             return ResponseEntity
@@ -63,11 +224,15 @@ public class TodoController {
             log.warn(e.getMessage());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
                     // 인가되지 않음(UNAUTHORIZED) - 401번
+        } catch (SharedListNotFoundException e) {
+            // 없는 공유 목록이거나 회원이 아닌 목록에 등록하려는 경우
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(TodoListResponseDTO.builder().error(e.getMessage()).build());
         } catch (RuntimeException e) {
             log.error(e.getMessage());
             return ResponseEntity
                     .internalServerError()
-                    .body(TodoListResponseDTO.builder().error(e.getMessage()));
+                    .body(TodoListResponseDTO.builder().error(e.getMessage()).build());
         }
 
     }
@@ -78,29 +243,34 @@ public class TodoController {
     public ResponseEntity<?> deleteTodo(
             @AuthenticationPrincipal TokenUserInfo userInfo
             ,@PathVariable("id") String todoId) {
-        log.info("/api/todos/{} DELETE request!", todoId);
+        log.debug("/api/todos/{} DELETE request!", todoId);
 
         if (todoId == null || todoId.trim().equals("")) {
             return ResponseEntity
                     .badRequest()
-                    .body(TodoListResponseDTO.builder().error("ID를 전달해주세요"));
+                    .body(TodoListResponseDTO.builder().error("ID를 전달해주세요").build());
         }
 
         try {
             TodoListResponseDTO responseDTO = todoService.delete(todoId, userInfo.getUserId());
             return ResponseEntity.ok().body(responseDTO);
+        } catch (TodoNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(TodoListResponseDTO.builder().error(e.getMessage()).build());
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
-                    .body(TodoListResponseDTO.builder().error(e.getMessage()));
+                    .body(TodoListResponseDTO.builder().error(e.getMessage()).build());
         }
     }
 
     // 할 일 수정요청 (PUT, PATCH)
+    // If-Match: "버전" 헤더를 보내면 그 버전일 때만 수정 (안맞으면 412)
     @RequestMapping(method = {RequestMethod.PUT, RequestMethod.PATCH})
     public ResponseEntity<?> updateTodo(
             @AuthenticationPrincipal TokenUserInfo userInfo
             ,@Validated @RequestBody TodoModifyRequestDTO requestDTO
             , BindingResult result
+            , @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
             , HttpServletRequest request
     ) {
         if (result.hasErrors()) {
@@ -108,15 +278,103 @@ public class TodoController {
                     .body(result.getFieldError());
         }
 
-        log.info("/api/todos {} request", request.getMethod());
-        log.info("modifying dto : {}", requestDTO);
+        log.debug("/api/todos {} request - modifying dto : {}", request.getMethod(), requestDTO);
+
+        // 헤더 버전이 우선, 없으면 바디의 버전 사용
+        boolean hasIfMatch = ifMatch != null && !ifMatch.trim().equals("*");
+        Long expectedVersion = requestDTO.getVersion();
+        if (hasIfMatch) {
+            expectedVersion = parseETagVersion(ifMatch);
+            if (expectedVersion == null) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                        .body(TodoListResponseDTO.builder().error("If-Match 헤더 형식이 잘못되었습니다.").build());
+            }
+        }
 
         try {
-            TodoListResponseDTO responseDTO = todoService.update(requestDTO, userInfo.getUserId());
-            return ResponseEntity.ok().body(responseDTO);
+            TodoListResponseDTO responseDTO = todoService.update(requestDTO, userInfo.getUserId(), expectedVersion);
+
+            // 수정된 할 일의 새 버전을 ETag로 내려줌
+            ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+            responseDTO.getTodos().stream()
+                    .filter(todo -> todo.getId().equals(requestDTO.getId()))
+                    .findFirst()
+                    .ifPresent(todo -> ok.eTag(String.valueOf(todo.getVersion())));
+            return ok.body(responseDTO);
+        } catch (TodoNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(TodoListResponseDTO.builder().error(e.getMessage()).build());
+        } catch (TodoVersionConflictException e) {
+            // If-Match 헤더로 온 조건이 깨지면 412, 바디 버전이 안맞으면 409
+            return ResponseEntity.status(hasIfMatch ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT)
+                    .body(TodoListResponseDTO.builder().error(e.getMessage()).build());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body(TodoListResponseDTO.builder().error(e.getMessage()).build());
+        }
+    }
+
+    // 할 일 마감/알림 시간 수정 요청
+    // PATCH: /api/todos/{id}/schedule  {"dueAt": "2023-07-01T18:00:00", "remindAt": "2023-07-01T17:30:00"}
+    @PatchMapping("/{id}/schedule")
+    public ResponseEntity<?> scheduleTodo(
+            @AuthenticationPrincipal TokenUserInfo userInfo
+            , @PathVariable("id") String todoId
+            , @Validated @RequestBody TodoScheduleRequestDTO requestDTO
+            , BindingResult result
+            , @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        if (result.hasErrors()) {
+            return ResponseEntity.badRequest()
+                    .body(result.getFieldError());
+        }
+
+        log.debug("/api/todos/{}/schedule PATCH request - dto : {}", todoId, requestDTO);
+
+        boolean hasIfMatch = ifMatch != null && !ifMatch.trim().equals("*");
+        Long expectedVersion = requestDTO.getVersion();
+        if (hasIfMatch) {
+            expectedVersion = parseETagVersion(ifMatch);
+            if (expectedVersion == null) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                        .body(TodoListResponseDTO.builder().error("If-Match 헤더 형식이 잘못되었습니다.").build());
+            }
+        }
+
+        try {
+            TodoListResponseDTO responseDTO = todoService.schedule(todoId, requestDTO, userInfo.getUserId(), expectedVersion);
+
+            ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+            responseDTO.getTodos().stream()
+                    .filter(todo -> todo.getId().equals(todoId))
+                    .findFirst()
+                    .ifPresent(todo -> ok.eTag(String.valueOf(todo.getVersion())));
+            return ok.body(responseDTO);
+        } catch (TodoNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(TodoListResponseDTO.builder().error(e.getMessage()).build());
+        } catch (TodoVersionConflictException e) {
+            return ResponseEntity.status(hasIfMatch ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT)
+                    .body(TodoListResponseDTO.builder().error(e.getMessage()).build());
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
-                    .body(TodoListResponseDTO.builder().error(e.getMessage()));
+                    .body(TodoListResponseDTO.builder().error(e.getMessage()).build());
+        }
+    }
+
+    // ETag 값("3", W/"3")에서 버전 숫자만 꺼내기
+    private Long parseETagVersion(String eTag) {
+        String value = eTag.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return null;
         }
     }
 
@@ -0,0 +1,30 @@
+package com.example.todo.todoapi.dto.request;
+
+import com.example.todo.todoapi.entity.SharedList;
+import lombok.*;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Size;
+
+// 공유 목록 만들기
+// POST: /api/lists
+@Setter
+@Getter
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SharedListCreateRequestDTO {
+
+    @NotBlank
+    @Size(max = 30)
+    private String name;
+
+    public SharedList toEntity(String ownerId) {
+        return SharedList.builder()
+                .name(this.name)
+                .ownerId(ownerId)
+                .build();
+    }
+}
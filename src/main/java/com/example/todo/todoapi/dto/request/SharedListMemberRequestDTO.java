@@ -0,0 +1,23 @@
+package com.example.todo.todoapi.dto.request;
+
+import lombok.*;
+
+import javax.validation.constraints.Email;
+import javax.validation.constraints.NotBlank;
+
+// 공유 목록에 회원 추가 (이메일로)
+// POST: /api/lists/{listId}/members
+@Setter
+@Getter
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SharedListMemberRequestDTO {
+
+    @NotBlank
+    @Email
+    private String email;
+
+}
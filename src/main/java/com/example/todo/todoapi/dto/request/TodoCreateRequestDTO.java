@@ -4,8 +4,10 @@ import com.example.todo.todoapi.entity.Todo;
 import com.example.todo.userapi.entity.User;
 import lombok.*;
 
+import javax.validation.constraints.Future;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
 
 @Setter @Getter
 @ToString @EqualsAndHashCode
@@ -18,10 +20,19 @@ public class TodoCreateRequestDTO {
     @Size(min = 2, max = 10)
     private String title;
 
+    private LocalDateTime dueAt; // 마감 시간 (선택)
+
+    @Future
+    private LocalDateTime remindAt; // 알림 시간 (선택)
+
+    private String listId; // 공유 목록에 등록할 때 (없으면 개인 할 일)
+
     // dto를 엔터티로 변환
     public Todo toEntity() {
         return Todo.builder()
                 .title(this.title)
+                .dueAt(this.dueAt)
+                .remindAt(this.remindAt)
                 .build();
     }
 
@@ -29,6 +40,9 @@ public class TodoCreateRequestDTO {
     public Todo toEntity(User user) {
         return Todo.builder()
                 .title(this.title)
+                .dueAt(this.dueAt)
+                .remindAt(this.remindAt)
+                .listId(this.listId)
                 .user(user) // 유저id 넣는게 아니라, user 객체
                 .build();
     }
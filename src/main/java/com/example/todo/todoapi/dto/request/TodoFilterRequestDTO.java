@@ -0,0 +1,62 @@
+package com.example.todo.todoapi.dto.request;
+
+import lombok.*;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+// 할 일 목록 조회 조건 (쿼리 파라미터)
+// GET: /api/todos?done=false&from=2023-06-01&to=2023-06-30&sort=createDate,desc
+@Setter
+@Getter
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TodoFilterRequestDTO {
+
+    // 정렬 가능한 필드 (인덱스를 탈 수 있는 것만)
+    private static final Set<String> SORTABLE = Set.of("createDate", "title", "done");
+
+    private Boolean done; // null이면 전체
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from; // 등록일 시작 (포함)
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to; // 등록일 끝 (포함)
+
+    private String sort; // "필드,asc|desc"
+
+    // 조건이 하나도 없으면 기본 목록 (캐시된 목록을 그대로 씀)
+    public boolean isUnfiltered() {
+        return done == null && from == null && to == null && (sort == null || sort.trim().equals(""));
+    }
+
+    /**
+     * sort 파라미터를 스프링 데이터 Sort로 변환 (기본은 등록순)
+     *
+     * @throws IllegalArgumentException - 정렬할 수 없는 필드나 방향인 경우
+     */
+    public Sort toSort() throws IllegalArgumentException {
+        if (sort == null || sort.trim().equals("")) {
+            return Sort.by(Sort.Direction.ASC, "createDate");
+        }
+
+        String[] parts = sort.split(",");
+        String property = parts[0].trim();
+        if (!SORTABLE.contains(property)) {
+            throw new IllegalArgumentException("정렬할 수 없는 필드입니다: " + property);
+        }
+        Sort.Direction direction = parts.length > 1
+                ? Sort.Direction.fromString(parts[1].trim())
+                : Sort.Direction.ASC;
+
+        // 같은 값끼리는 등록순으로
+        Sort result = Sort.by(direction, property);
+        return property.equals("createDate") ? result : result.and(Sort.by("createDate"));
+    }
+}
@@ -13,5 +13,6 @@ public class TodoModifyRequestDTO {
 
     private String id;
     private boolean done; // 완료 취소선 긋는거
+    private Long version; // If-Match 헤더를 못 쓰는 클라이언트용 버전 (없으면 버전검사 안함)
 
 }
@@ -0,0 +1,26 @@
+package com.example.todo.todoapi.dto.request;
+
+import lombok.*;
+
+import javax.validation.constraints.Future;
+import java.time.LocalDateTime;
+
+// 할 일 마감/알림 시간 변경 (둘 다 null이면 일정 없음)
+// PATCH: /api/todos/{id}/schedule
+@Setter
+@Getter
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TodoScheduleRequestDTO {
+
+    private LocalDateTime dueAt; // 마감 시간 (null이면 마감 없음)
+
+    @Future
+    private LocalDateTime remindAt; // 알림 시간 (null이면 알림 끔)
+
+    private Long version; // If-Match 헤더를 못 쓰는 클라이언트용 버전 (없으면 버전검사 안함)
+
+}
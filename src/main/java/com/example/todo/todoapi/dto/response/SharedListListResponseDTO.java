@@ -0,0 +1,20 @@
+package com.example.todo.todoapi.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+// 내가 속한 공유 목록들
+@Setter
+@Getter
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SharedListListResponseDTO {
+
+    private String error;
+    private List<SharedListResponseDTO> lists;
+
+}
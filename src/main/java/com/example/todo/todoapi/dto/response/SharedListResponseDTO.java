@@ -0,0 +1,28 @@
+package com.example.todo.todoapi.dto.response;
+
+import com.example.todo.todoapi.entity.SharedList;
+import lombok.*;
+
+import java.util.List;
+
+@Setter
+@Getter
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SharedListResponseDTO {
+
+    private String id;
+    private String name;
+    private String ownerId;
+    private List<String> members; // 회원 id 목록
+
+    public SharedListResponseDTO(SharedList list, List<String> members) {
+        this.id = list.getListId();
+        this.name = list.getName();
+        this.ownerId = list.getOwnerId();
+        this.members = members;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.todo.todoapi.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+// 보관된 할 일 페이지 응답
+@Setter
+@Getter
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TodoArchiveListResponseDTO {
+
+    private String error;
+    private List<TodoArchiveResponseDTO> todos;
+    private int page; // 0부터 시작
+    private int size;
+    private long totalElements;
+    private int totalPages;
+
+}
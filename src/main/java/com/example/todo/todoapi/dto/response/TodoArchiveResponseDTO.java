@@ -0,0 +1,35 @@
+package com.example.todo.todoapi.dto.response;
+
+import com.example.todo.todoapi.entity.TodoArchive;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Setter
+@Getter
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TodoArchiveResponseDTO {
+
+    private String id;
+    private String title;
+    private boolean done;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createDate;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime archivedAt;
+
+    public TodoArchiveResponseDTO(TodoArchive archive) {
+        this.id = archive.getTodoId();
+        this.title = archive.getTitle();
+        this.done = archive.isDone();
+        this.createDate = archive.getCreateDate();
+        this.archivedAt = archive.getArchivedAt();
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.todo.todoapi.dto.response;
+
+import com.example.todo.todoapi.entity.TodoDailyStats;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Setter
+@Getter
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TodoDailyStatsResponseDTO {
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate date;
+    private long created;
+    private long completed;
+
+    public TodoDailyStatsResponseDTO(TodoDailyStats stats) {
+        this.date = stats.getStatDate();
+        this.created = stats.getCreated();
+        this.completed = stats.getCompleted();
+    }
+}
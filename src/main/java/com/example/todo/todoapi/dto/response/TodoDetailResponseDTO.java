@@ -3,6 +3,8 @@ package com.example.todo.todoapi.dto.response;
 import com.example.todo.todoapi.entity.Todo;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 @Setter
 @Getter
 @ToString
@@ -16,11 +18,24 @@ public class TodoDetailResponseDTO {
     private String id;
     private String title;
     private boolean done;
+    private long version; // 수정요청시 If-Match로 돌려보낼 버전
+    private LocalDateTime dueAt;
+    private LocalDateTime remindAt;
+    private String listId; // 공유 목록 할 일이면 목록 id
+
+    // 일정 없는 개인 할 일
+    public TodoDetailResponseDTO(String id, String title, boolean done, long version) {
+        this(id, title, done, version, null, null, null);
+    }
 
     // 엔터티를 DTO로 만들어주는 생성자
     public TodoDetailResponseDTO(Todo todo) {
         this.id = todo.getTodoId();
         this.title = todo.getTitle();
         this.done = todo.isDone();
+        this.version = todo.getVersion();
+        this.dueAt = todo.getDueAt();
+        this.remindAt = todo.getRemindAt();
+        this.listId = todo.getListId();
     }
 }
@@ -0,0 +1,23 @@
+package com.example.todo.todoapi.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+// 대시보드용 할 일 통계
+@Setter
+@Getter
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TodoStatsResponseDTO {
+
+    private String error;
+    private long total;
+    private long done;
+    private long pending;
+    private List<TodoDailyStatsResponseDTO> daily; // 등록일별 완료 현황
+
+}
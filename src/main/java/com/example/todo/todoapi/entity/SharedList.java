@@ -0,0 +1,35 @@
+package com.example.todo.todoapi.entity;
+
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.GenericGenerator;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+// 여러 회원이 같이 보는 할 일 목록 (할 일은 tbl_todo.list_id 로 목록에 속함)
+@Getter
+@ToString
+@EqualsAndHashCode(of = "listId")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+@Entity
+@Table(name = "tbl_shared_list")
+public class SharedList {
+
+    @Id
+    @GeneratedValue(generator = "system-uuid")
+    @GenericGenerator(name = "system-uuid", strategy = "uuid")
+    private String listId;
+
+    @Column(nullable = false, length = 30)
+    private String name;
+
+    @Column(nullable = false)
+    private String ownerId; // 만든 회원 (회원 추가/내보내기 가능)
+
+    @CreationTimestamp
+    private LocalDateTime createDate;
+}
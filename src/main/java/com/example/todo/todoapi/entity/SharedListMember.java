@@ -0,0 +1,44 @@
+package com.example.todo.todoapi.entity;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+// 공유 목록 회원 (만든 회원도 여기 들어감)
+// (user_id, list_id) 인덱스 -> 회원 목록 조회에서 내가 속한 목록을 바로 찾음
+@Getter
+@ToString
+@EqualsAndHashCode(of = {"listId", "userId"})
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+@Entity
+@Table(name = "tbl_shared_list_member", indexes = {
+        @Index(name = "idx_shared_list_member_user", columnList = "user_id, list_id")
+})
+@IdClass(SharedListMember.Key.class)
+public class SharedListMember {
+
+    @Id
+    @Column(name = "list_id")
+    private String listId;
+
+    @Id
+    @Column(name = "user_id")
+    private String userId;
+
+    private LocalDateTime joinedAt;
+
+    // 복합키 클래스
+    @Getter
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String listId;
+        private String userId;
+    }
+}
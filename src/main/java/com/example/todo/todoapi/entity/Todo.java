@@ -4,6 +4,7 @@ import com.example.todo.userapi.entity.User;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Where;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -17,7 +18,16 @@ import java.time.LocalDateTime;
 @Builder
 
 @Entity
-@Table(name = "tbl_todo")
+@Where(clause = "deleted_at IS NULL") // 삭제 표시된 할 일은 JPA 조회에서 안 보임
+@Table(name = "tbl_todo", indexes = {
+        // 목록 조회 필터(완료여부, 등록일)와 정렬을 인덱스 안에서 끝내기 위한 복합 인덱스
+        @Index(name = "idx_todo_user_done_create", columnList = "user_id, done, create_date"),
+        @Index(name = "idx_todo_user_create", columnList = "user_id, create_date"),
+        @Index(name = "idx_todo_done_create", columnList = "done, create_date"), // 보관 작업용
+        @Index(name = "idx_todo_deleted", columnList = "deleted_at"), // 삭제 정리 작업용
+        @Index(name = "idx_todo_remind", columnList = "remind_at"), // 알림 엔진이 가까운 시간대만 읽어감
+        @Index(name = "idx_todo_list_create", columnList = "list_id, create_date") // 공유 목록 할 일
+})
 public class Todo {
 
     @Id
@@ -33,9 +43,23 @@ public class Todo {
     @CreationTimestamp
     private LocalDateTime createDate; // 등록 시간
 
+    private LocalDateTime dueAt; // 마감 시간 (없으면 null)
+
+    private LocalDateTime remindAt; // 알림 시간 (없으면 알림 없음)
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
-    private User user;
+    private User user; // 작성자 (공유 목록 할 일이면 목록 회원 누구나 수정 가능)
+
+    // 공유 목록 id (null이면 개인 할 일)
+    private String listId;
+
+    // 낙관적 락 버전 - 수정될 때마다 1씩 올라감 (ETag 값으로도 사용)
+    @Version
+    private long version;
+
+    // 삭제 표시 시간 (null이면 살아있는 할 일) - 실제 삭제는 새벽에 정리 작업이 함
+    private LocalDateTime deletedAt;
 
 
 //    @JoinColumn(name = "user_id", referencedColumnName = "user_name") // FK자동 매칭 이걸로 됨
@@ -0,0 +1,38 @@
+package com.example.todo.todoapi.entity;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+// 오래된 완료 할 일을 옮겨두는 보관 테이블
+// 목록 조회가 읽는 tbl_todo를 작게 유지하기 위함 (보관된 할 일은 따로 페이지 조회)
+@Getter
+@ToString
+@EqualsAndHashCode(of = "todoId")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+@Entity
+@Table(name = "tbl_todo_archive", indexes = {
+        @Index(name = "idx_todo_archive_user_create", columnList = "user_id, create_date")
+})
+public class TodoArchive {
+
+    @Id
+    private String todoId; // tbl_todo 의 id를 그대로 씀
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(nullable = false, length = 30)
+    private String title;
+
+    private boolean done;
+
+    private LocalDateTime createDate;
+
+    private LocalDateTime archivedAt; // 보관된 시간
+
+}
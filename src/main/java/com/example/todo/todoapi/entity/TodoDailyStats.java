@@ -0,0 +1,42 @@
+package com.example.todo.todoapi.entity;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+// 회원별, 등록일별 할 일 개수 (그날 등록한 할 일 중 몇개를 완료했는지)
+@Getter
+@ToString
+@EqualsAndHashCode(of = {"userId", "statDate"})
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+@Entity
+@Table(name = "tbl_todo_daily_stats")
+@IdClass(TodoDailyStats.Key.class)
+public class TodoDailyStats {
+
+    @Id
+    @Column(name = "user_id")
+    private String userId;
+
+    @Id
+    private LocalDate statDate; // 할 일 등록일
+
+    private long created; // 그날 등록한 할 일 수
+
+    private long completed; // 그 중 완료한 수
+
+    // 복합키 클래스
+    @Getter
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String userId;
+        private LocalDate statDate;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.todo.todoapi.entity;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+// 회원별 할 일 목록을 응답 json 그대로 저장해둔 행 (todo.snapshot.enabled=true 일때만 씀)
+// 목록 조회는 이 행 하나를 pk로 읽어서 바이트 그대로 내려보냄 (엔티티 변환, json 직렬화 없음)
+@Getter
+@ToString(exclude = "payload")
+@EqualsAndHashCode(of = "userId")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "tbl_todo_snapshot")
+public class TodoSnapshot {
+
+    @Id
+    @Column(name = "user_id")
+    private String userId;
+
+    @Lob
+    private byte[] payload; // TodoListResponseDTO json (null이면 다시 만들어야 함)
+
+    private long version; // 쓰기가 시작될 때마다 올라감 (다시 만드는 동안 쓰기가 끼어들었는지 확인용)
+
+    private LocalDateTime updatedAt;
+}
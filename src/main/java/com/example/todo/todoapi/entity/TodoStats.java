@@ -0,0 +1,28 @@
+package com.example.todo.todoapi.entity;
+
+import lombok.*;
+
+import javax.persistence.*;
+
+// 회원별 할 일 개수 카운터 (할 일 등록/수정/삭제할 때 같은 트랜잭션에서 같이 증감)
+// 이 행이 없는 회원은 아직 집계 전이라는 뜻 -> 처음 조회할 때 전체 집계로 만듦
+@Getter
+@ToString
+@EqualsAndHashCode(of = "userId")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+@Entity
+@Table(name = "tbl_todo_stats")
+public class TodoStats {
+
+    @Id
+    @Column(name = "user_id")
+    private String userId;
+
+    private long total; // 전체 할 일 수
+
+    private long done; // 완료한 할 일 수
+
+}
@@ -0,0 +1,18 @@
+package com.example.todo.todoapi.event;
+
+import lombok.*;
+
+import java.util.Collection;
+
+// 공유 목록 회원이 바뀌었을 때 발행되는 이벤트 (만들기, 회원 추가, 내보내기/나가기)
+// 그 회원들의 접근 캐시와 목록(캐시, ETag, 검색 색인)을 커밋 후에 다시 만들게 함
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class SharedListChangedEvent {
+
+    private final String listId;
+    private final Collection<String> userIds; // 들어오거나 나간 회원들
+
+}
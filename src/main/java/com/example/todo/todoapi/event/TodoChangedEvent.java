@@ -0,0 +1,34 @@
+package com.example.todo.todoapi.event;
+
+import com.example.todo.todoapi.dto.response.TodoDetailResponseDTO;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+
+import java.util.Collection;
+import java.util.List;
+
+// 할 일이 등록/수정/삭제 되었을 때 발행되는 이벤트 (트랜잭션 커밋 후에 리스너들이 받음)
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class TodoChangedEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED, ARCHIVED
+    }
+
+    private final Type type;
+    private final String userId; // 할 일 주인 (작성자)
+    private final String todoId;
+    private final TodoDetailResponseDTO todo; // 삭제/보관된 경우 null
+    private final String listId; // 공유 목록 할 일이면 목록 id
+    // 목록이 바뀐 회원들 - 개인 할 일이면 주인 한 명, 공유 목록이면 목록 회원 전부 (발행할 때 한번만 구함)
+    @JsonIgnore // SSE로 나갈 때 회원 id 목록은 빼고
+    private final Collection<String> recipients;
+
+    // 개인 할 일
+    public TodoChangedEvent(Type type, String userId, String todoId, TodoDetailResponseDTO todo) {
+        this(type, userId, todoId, todo, null, List.of(userId));
+    }
+}
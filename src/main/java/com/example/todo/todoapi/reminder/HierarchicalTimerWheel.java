@@ -0,0 +1,189 @@
+package com.example.todo.todoapi.reminder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// 계층 타이머 휠 - 수백만 개의 예약을 들고 있어도 등록/취소는 O(1), 한 틱 처리는 그 틱에 만료되는 개수에만 비례
+// - 0단 휠: 칸 하나 = 1틱, 1단 휠: 칸 하나 = 0단 휠 한 바퀴, ... (칸 수는 2의 거듭제곱)
+// - 먼 예약은 윗단 휠에 넣어두고, 아랫단 휠이 한 바퀴 돌 때마다 윗단 칸 하나를 아래로 내려보냄
+// - 칸마다 이중 연결 리스트라서 키로 바로 찾아서 뺄 수 있음
+// 범위(칸 수 ^ 단 수 틱)를 넘는 예약은 받지 않음 -> 호출하는 쪽에서 가까운 구간만 넣을 것
+public class HierarchicalTimerWheel<T> {
+
+    private final long tickMs;
+    private final int bits;
+    private final int mask;
+    private final int levels;
+    private final long maxDelta; // 넣을 수 있는 가장 먼 예약 (틱)
+
+    private final Node<T>[][] heads;
+    private final Map<String, Node<T>> byKey = new HashMap<>();
+    private long currentTick; // 여기까지 처리함
+
+    /**
+     * @param tickMs - 한 칸의 시간 (알림 정밀도)
+     * @param bits - 휠 하나의 칸 수 = 2^bits
+     * @param levels - 휠 단 수
+     * @param startMs - 시작 시간 (이 시간까지는 처리한 것으로 봄)
+     */
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimerWheel(long tickMs, int bits, int levels, long startMs) {
+        if (tickMs < 1 || bits < 1 || levels < 1 || (long) bits * levels > 62) {
+            throw new IllegalArgumentException("타이머 휠 설정이 잘못되었습니다.");
+        }
+        this.tickMs = tickMs;
+        this.bits = bits;
+        this.mask = (1 << bits) - 1;
+        this.levels = levels;
+        this.maxDelta = 1L << (bits * levels);
+        this.heads = new Node[levels][1 << bits];
+        this.currentTick = startMs / tickMs;
+    }
+
+    /**
+     * 예약 등록 (같은 키가 있으면 교체)
+     *
+     * @param key - 예약 id (할 일 id)
+     * @param dueMs - 만료 시간 (이미 지났으면 다음 틱에 만료)
+     * @param value - 만료될 때 넘겨줄 값
+     * @return - 범위를 넘어서 못 넣었으면 false
+     */
+    public synchronized boolean schedule(String key, long dueMs, T value) {
+        long dueTick = Math.max(ceilTick(dueMs), currentTick + 1);
+        if (dueTick - currentTick >= maxDelta) {
+            return false;
+        }
+        Node<T> old = byKey.remove(key);
+        if (old != null) {
+            unlink(old);
+        }
+        Node<T> node = new Node<>(key, dueTick, value);
+        byKey.put(key, node);
+        place(node, currentTick);
+        return true;
+    }
+
+    // 이미 같은 키가 있으면 건드리지 않음
+    public synchronized boolean scheduleIfAbsent(String key, long dueMs, T value) {
+        if (byKey.containsKey(key)) {
+            return false;
+        }
+        return schedule(key, dueMs, value);
+    }
+
+    public synchronized boolean cancel(String key) {
+        Node<T> node = byKey.remove(key);
+        if (node == null) {
+            return false;
+        }
+        unlink(node);
+        return true;
+    }
+
+    /**
+     * 지금 시간까지 틱을 진행하면서 만료된 예약을 넘겨줌
+     *
+     * @param nowMs - 현재 시간
+     * @param expired - 만료된 값을 받을 함수 (락을 잡은 채로 불리니까 가볍게)
+     * @return - 만료된 개수
+     */
+    public synchronized int advance(long nowMs, Consumer<T> expired) {
+        long nowTick = nowMs / tickMs;
+        int count = 0;
+        while (currentTick < nowTick) {
+            long tick = currentTick + 1;
+
+            // 윗단부터 내려보내야 방금 내려온 예약이 이번 틱의 아랫단 처리에 포함됨
+            for (int level = levels - 1; level >= 1; level--) {
+                if ((tick & ((1L << (bits * level)) - 1)) == 0) {
+                    cascade(level, (int) ((tick >>> (bits * level)) & mask), tick);
+                }
+            }
+
+            int slot = (int) (tick & mask);
+            Node<T> node = heads[0][slot];
+            heads[0][slot] = null;
+            currentTick = tick;
+            while (node != null) {
+                Node<T> next = node.next;
+                node.prev = node.next = null;
+                if (node.dueTick <= tick) {
+                    byKey.remove(node.key);
+                    expired.accept(node.value);
+                    count++;
+                } else {
+                    place(node, tick); // 올 일은 없지만 혹시 몰라서
+                }
+                node = next;
+            }
+        }
+        return count;
+    }
+
+    public synchronized int size() {
+        return byKey.size();
+    }
+
+    // 이번 틱 기준으로 다시 배치 -> 이번 틱에 만료될 것은 0단의 이번 칸으로 들어감
+    private void cascade(int level, int slot, long tick) {
+        Node<T> node = heads[level][slot];
+        heads[level][slot] = null;
+        while (node != null) {
+            Node<T> next = node.next;
+            node.prev = node.next = null;
+            place(node, tick);
+            node = next;
+        }
+    }
+
+    // 남은 틱 수에 맞는 가장 낮은 단에 넣음
+    private void place(Node<T> node, long baseTick) {
+        long delta = node.dueTick - baseTick;
+        int level = 0;
+        while (level < levels - 1 && delta >= (1L << (bits * (level + 1)))) {
+            level++;
+        }
+        int slot = (int) ((node.dueTick >>> (bits * level)) & mask);
+        node.level = level;
+        node.slot = slot;
+        Node<T> head = heads[level][slot];
+        node.next = head;
+        if (head != null) {
+            head.prev = node;
+        }
+        heads[level][slot] = node;
+    }
+
+    private void unlink(Node<T> node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else if (heads[node.level][node.slot] == node) {
+            heads[node.level][node.slot] = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+        node.prev = node.next = null;
+    }
+
+    private long ceilTick(long ms) {
+        return (ms + tickMs - 1) / tickMs;
+    }
+
+    private static final class Node<T> {
+        final String key;
+        final long dueTick;
+        final T value;
+        Node<T> prev;
+        Node<T> next;
+        int level;
+        int slot;
+
+        Node(String key, long dueTick, T value) {
+            this.key = key;
+            this.dueTick = dueTick;
+            this.value = value;
+        }
+    }
+}
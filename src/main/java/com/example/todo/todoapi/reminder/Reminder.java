@@ -0,0 +1,20 @@
+package com.example.todo.todoapi.reminder;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// 타이머 휠에 올려두는 알림 한 건 (SSE "reminder" 이벤트로 그대로 나감)
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class Reminder {
+
+    private final String todoId;
+    private final String userId; // 작성자
+    private final String title;
+    private final LocalDateTime remindAt;
+    private final String listId; // 공유 목록 할 일이면 목록 회원 모두가 받음
+
+}
@@ -0,0 +1,250 @@
+package com.example.todo.todoapi.reminder;
+
+import com.example.todo.cache.CacheRegions;
+import com.example.todo.cache.TwoTierCache;
+import com.example.todo.todoapi.dto.response.TodoDetailResponseDTO;
+import com.example.todo.todoapi.event.TodoChangedEvent;
+import com.example.todo.todoapi.repository.TodoRepository;
+import com.example.todo.todoapi.service.SharedListAccess;
+import com.example.todo.todoapi.stream.TodoStreamHub;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// 할 일 알림 엔진 (todo.reminder.enabled=true 일때만 동작)
+// - remind_at 인덱스로 앞으로 window-minutes 동안 울릴 알림만 DB에서 읽어서 타이머 휠에 올림 (회원별 폴링 없음)
+// - 틱 스레드가 휠을 돌리고, 만료된 알림은 틱마다 한번의 IN 쿼리로 아직 유효한지 확인 후 SSE로 보냄
+// - 이 서버에서 바뀐 할 일은 커밋 이벤트로, 다른 서버에서 바뀐 할 일은 할 일 id가 담긴 무효화 메시지로 예약을 고침
+// 서버가 여러 대면 서버마다 같은 알림을 들고 있다가 각자 자기 SSE 구독자에게만 보냄
+@Service
+@Slf4j
+public class TodoReminderService {
+
+    private static final int WHEEL_BITS = 8; // 휠 하나 256칸
+    private static final int WHEEL_LEVELS = 3; // 256^3 틱 (1초 틱이면 약 194일) - 구간 하나는 충분히 들어감
+
+    private final TodoRepository todoRepository;
+    private final TodoStreamHub todoStreamHub;
+    private final SharedListAccess sharedListAccess;
+    private final TwoTierCache twoTierCache;
+
+    private final boolean enabled;
+    private final long windowMs;
+    private final int batchSize;
+    private final long catchUpMs;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private final HierarchicalTimerWheel<Reminder> wheel;
+    private final ScheduledExecutorService ticker;
+    private final Counter fired;
+    private final Counter skipped;
+
+    // 이 시간 전까지의 알림은 전부 휠에 올라와 있음 (0이면 아직 한번도 안 읽음)
+    private volatile long horizonMs;
+
+    public TodoReminderService(
+            TodoRepository todoRepository
+            , TodoStreamHub todoStreamHub
+            , SharedListAccess sharedListAccess
+            , TwoTierCache twoTierCache
+            , MeterRegistry meterRegistry
+            , @Value("${todo.reminder.enabled:false}") boolean enabled
+            , @Value("${todo.reminder.tick-ms:1000}") long tickMs
+            , @Value("${todo.reminder.window-minutes:10}") long windowMinutes
+            , @Value("${todo.reminder.batch-size:5000}") int batchSize
+            , @Value("${todo.reminder.catch-up-seconds:60}") long catchUpSeconds) {
+        this.todoRepository = todoRepository;
+        this.todoStreamHub = todoStreamHub;
+        this.sharedListAccess = sharedListAccess;
+        this.twoTierCache = twoTierCache;
+        this.enabled = enabled;
+        this.windowMs = TimeUnit.MINUTES.toMillis(windowMinutes);
+        this.batchSize = batchSize;
+        this.catchUpMs = TimeUnit.SECONDS.toMillis(catchUpSeconds);
+
+        this.wheel = new HierarchicalTimerWheel<>(tickMs, WHEEL_BITS, WHEEL_LEVELS, System.currentTimeMillis());
+        this.fired = meterRegistry.counter("todo.reminder.fired");
+        this.skipped = meterRegistry.counter("todo.reminder.skipped");
+        Gauge.builder("todo.reminder.pending", wheel, HierarchicalTimerWheel::size).register(meterRegistry);
+
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "todo-reminder");
+            t.setDaemon(true);
+            return t;
+        });
+        if (enabled) {
+            ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+            twoTierCache.onRemoteEvict(CacheRegions.TODO_REMINDER, this::reloadTodo);
+        }
+    }
+
+    /**
+     * 앞으로 울릴 알림을 구간 단위로 미리 읽어서 휠에 올림
+     * 남은 구간이 반 이하로 줄면 [horizon, 지금 + window) 를 (remind_at, todo_id) 순서로 batch-size 씩 읽음
+     */
+    @Scheduled(fixedDelayString = "${todo.reminder.load-check-ms:5000}")
+    public void loadAhead() {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long from = (horizonMs == 0) ? now - catchUpMs : horizonMs; // 처음에는 재시작 동안 놓친 것도 조금 챙김
+        if (from - now > windowMs / 2) {
+            return;
+        }
+        long to = now + windowMs;
+
+        // 읽기 전에 경계를 먼저 옮겨야 읽는 동안 커밋된 변경이 이벤트 쪽에서 빠지지 않음
+        horizonMs = to;
+
+        LocalDateTime toTime = toLocalDateTime(to);
+        LocalDateTime afterTime = toLocalDateTime(from);
+        String afterId = "";
+        int loaded = 0;
+        try {
+            while (true) {
+                List<Object[]> rows = todoRepository.findRemindersBetween(
+                        toLocalDateTime(from), toTime, afterTime, afterId, batchSize);
+                for (Object[] row : rows) {
+                    Reminder reminder = toReminder(row);
+                    // 이벤트로 먼저 들어온 예약이 더 최신일 수 있으니 덮어쓰지 않음
+                    wheel.scheduleIfAbsent(reminder.getTodoId(), toEpochMs(reminder.getRemindAt()), reminder);
+                    afterTime = reminder.getRemindAt();
+                    afterId = reminder.getTodoId();
+                }
+                loaded += rows.size();
+                if (rows.size() < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            // 못 읽은 곳부터 다음 주기에 다시
+            horizonMs = toEpochMs(afterTime);
+            log.warn("알림 구간 읽기 실패 - {}, err: {}", afterTime, e.getMessage());
+            return;
+        }
+        log.debug("알림 구간 읽음 - ~{}, {}건, 대기중 {}건", toTime, loaded, wheel.size());
+    }
+
+    // 커밋된 변경으로 예약 고치기 (완료/삭제/시간 변경)
+    @TransactionalEventListener
+    public void onTodoChanged(TodoChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        TodoDetailResponseDTO todo = event.getTodo();
+        if (todo == null || todo.isDone() || todo.getRemindAt() == null) {
+            wheel.cancel(event.getTodoId());
+            return;
+        }
+        long remindMs = toEpochMs(todo.getRemindAt());
+        // 구간 밖이면 나중에 구간 읽을 때 올라옴, 이미 지난 알림은 다시 울리지 않음
+        if (remindMs < System.currentTimeMillis() || remindMs >= horizonMs) {
+            wheel.cancel(event.getTodoId());
+            return;
+        }
+        wheel.schedule(event.getTodoId(), remindMs
+                , new Reminder(event.getTodoId(), event.getUserId(), todo.getTitle(), todo.getRemindAt(), event.getListId()));
+        // 다른 서버들도 이 할 일만 다시 읽게 (취소/변경 전 시간은 보내기 직전 확인에서 걸러지니까 새로 생긴 예약만 알림)
+        twoTierCache.evict(CacheRegions.TODO_REMINDER, event.getTodoId());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    // 다른 서버에서 알림이 바뀐 할 일 -> 그 할 일만 pk로 다시 읽음
+    private void reloadTodo(String todoId) {
+        long now = System.currentTimeMillis();
+        try {
+            List<Object[]> rows = todoRepository.findReminderById(todoId);
+            if (rows.isEmpty()) {
+                wheel.cancel(todoId);
+                return;
+            }
+            Reminder reminder = toReminder(rows.get(0));
+            long remindMs = toEpochMs(reminder.getRemindAt());
+            if (remindMs < now || remindMs >= horizonMs) {
+                wheel.cancel(todoId);
+                return;
+            }
+            wheel.schedule(todoId, remindMs, reminder);
+        } catch (Exception e) {
+            log.warn("알림 다시 읽기 실패 - todo: {}, err: {}", todoId, e.getMessage());
+        }
+    }
+
+    // 틱 스레드 - 예외가 나가면 다음 틱이 안 돌아서 여기서 다 잡음
+    private void tick() {
+        try {
+            List<Reminder> due = new ArrayList<>();
+            wheel.advance(System.currentTimeMillis(), due::add);
+            for (int from = 0; from < due.size(); from += batchSize) {
+                deliver(due.subList(from, Math.min(from + batchSize, due.size())));
+            }
+        } catch (Exception e) {
+            log.warn("알림 처리 실패 - {}", e.getMessage());
+        }
+    }
+
+    // 만료된 알림을 한번에 확인하고 아직 유효한 것만 보냄 (완료, 삭제, 시간이 바뀐 것은 버림)
+    private void deliver(List<Reminder> due) {
+        Map<String, Reminder> byId = new HashMap<>();
+        due.forEach(reminder -> byId.put(reminder.getTodoId(), reminder));
+
+        for (Object[] row : todoRepository.findPendingReminders(new ArrayList<>(byId.keySet()))) {
+            Reminder reminder = byId.remove((String) row[0]);
+            if (reminder != null && sameSecond(reminder.getRemindAt(), (LocalDateTime) row[1])) {
+                // 공유 목록이면 보내는 시점의 회원들에게 (회원 목록은 캐시)
+                for (String userId : sharedListAccess.recipientsOf(reminder.getUserId(), reminder.getListId())) {
+                    todoStreamHub.publish(userId, "reminder", reminder);
+                }
+                fired.increment();
+            } else if (reminder != null) {
+                skipped.increment();
+            }
+        }
+        skipped.increment(byId.size());
+    }
+
+    private static boolean sameSecond(LocalDateTime a, LocalDateTime b) {
+        return b != null && Objects.equals(a.truncatedTo(ChronoUnit.SECONDS), b.truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    // 네이티브 쿼리 [todo_id, user_id, title, remind_at, list_id]
+    private static Reminder toReminder(Object[] row) {
+        Object remindAt = row[3];
+        LocalDateTime time = (remindAt instanceof LocalDateTime)
+                ? (LocalDateTime) remindAt
+                : ((java.sql.Timestamp) remindAt).toLocalDateTime();
+        return new Reminder((String) row[0], (String) row[1], (String) row[2], time, (String) row[4]);
+    }
+
+    private long toEpochMs(LocalDateTime time) {
+        return time.atZone(zone).toInstant().toEpochMilli();
+    }
+
+    private LocalDateTime toLocalDateTime(long epochMs) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMs), zone);
+    }
+}
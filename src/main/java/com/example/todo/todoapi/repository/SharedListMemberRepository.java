@@ -0,0 +1,38 @@
+package com.example.todo.todoapi.repository;
+
+import com.example.todo.todoapi.entity.SharedListMember;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SharedListMemberRepository extends JpaRepository<SharedListMember, SharedListMember.Key> {
+
+    // 목록 회원 id만 (pk 앞부분으로 조회)
+    @Query("SELECT m.userId FROM SharedListMember m WHERE m.listId = :listId")
+    List<String> findUserIdsByListId(@Param("listId") String listId);
+
+    // 회원이 속한 목록 id (user_id 인덱스)
+    @Query("SELECT m.listId FROM SharedListMember m WHERE m.userId = :userId")
+    List<String> findListIdsByUserId(@Param("userId") String userId);
+
+    boolean existsByListIdAndUserId(String listId, String userId);
+
+    // 이미 회원이면 아무것도 안 함 (존재 확인 후 save 하면 동시에 같은 회원을 추가할 때 pk 중복으로 500이 남)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO tbl_shared_list_member (list_id, user_id, joined_at) " +
+            "VALUES (:listId, :userId, :joinedAt)", nativeQuery = true)
+    int joinIfAbsent(@Param("listId") String listId, @Param("userId") String userId
+            , @Param("joinedAt") LocalDateTime joinedAt);
+
+    // 목록 회원 id를 들어온 순서로 (만든 회원이 탈퇴하면 제일 먼저 들어온 회원이 넘겨받음)
+    @Query("SELECT m.userId FROM SharedListMember m WHERE m.listId = :listId ORDER BY m.joinedAt, m.userId")
+    List<String> findUserIdsByListIdOrderByJoinedAt(@Param("listId") String listId);
+
+    @Modifying
+    @Query("DELETE FROM SharedListMember m WHERE m.listId = :listId AND m.userId = :userId")
+    int deleteMember(@Param("listId") String listId, @Param("userId") String userId);
+}
@@ -0,0 +1,26 @@
+package com.example.todo.todoapi.repository;
+
+import com.example.todo.todoapi.entity.SharedList;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface SharedListRepository extends JpaRepository<SharedList, String> {
+
+    // 회원이 속한 공유 목록 (회원 인덱스 -> 목록 pk)
+    @Query("SELECT l FROM SharedList l WHERE l.listId IN " +
+            "(SELECT m.listId FROM SharedListMember m WHERE m.userId = :userId) ORDER BY l.createDate")
+    List<SharedList> findAllByMember(@Param("userId") String userId);
+
+    // 회원이 만든 목록 id
+    @Query("SELECT l.listId FROM SharedList l WHERE l.ownerId = :userId")
+    List<String> findListIdsByOwnerId(@Param("userId") String userId);
+
+    // 만든 회원 넘기기 (탈퇴 회원 정리)
+    @Modifying
+    @Query("UPDATE SharedList l SET l.ownerId = :ownerId WHERE l.listId = :listId")
+    int changeOwner(@Param("listId") String listId, @Param("ownerId") String ownerId);
+}
@@ -0,0 +1,37 @@
+package com.example.todo.todoapi.repository;
+
+import com.example.todo.todoapi.entity.TodoArchive;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TodoArchiveRepository extends JpaRepository<TodoArchive, String> {
+
+    Page<TodoArchive> findByUserId(String userId, Pageable pageable);
+
+    // tbl_todo 의 행을 그대로 복사 (엔터티로 읽어오지 않음)
+    @Modifying
+    @Query(value = "INSERT INTO tbl_todo_archive (todo_id, user_id, title, done, create_date, archived_at) " +
+            "SELECT todo_id, user_id, title, done, create_date, :archivedAt FROM tbl_todo WHERE todo_id IN (:ids)"
+            , nativeQuery = true)
+    int copyFromTodos(@Param("ids") List<String> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    // 정리 작업 - 탈퇴한 회원의 보관 할 일을 limit개씩 삭제
+    @Modifying
+    @Query(value = "DELETE FROM tbl_todo_archive WHERE user_id = :userId LIMIT :limit", nativeQuery = true)
+    int purgeByUserId(@Param("userId") String userId, @Param("limit") int limit);
+
+    // 통계 재집계용 등록일별 [날짜, 개수, 완료수]
+    @Query(value = "SELECT CAST(create_date AS DATE) AS stat_date, COUNT(*) AS created" +
+            ", SUM(CASE WHEN done THEN 1 ELSE 0 END) AS completed " +
+            "FROM tbl_todo_archive WHERE user_id = :userId GROUP BY CAST(create_date AS DATE)"
+            , nativeQuery = true)
+    List<Object[]> countDailyByUserId(@Param("userId") String userId);
+
+}
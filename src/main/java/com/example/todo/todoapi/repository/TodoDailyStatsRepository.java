@@ -0,0 +1,42 @@
+package com.example.todo.todoapi.repository;
+
+import com.example.todo.todoapi.entity.TodoDailyStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface TodoDailyStatsRepository extends JpaRepository<TodoDailyStats, TodoDailyStats.Key> {
+
+    // 그날 행이 없으면 만들고 있으면 더하기 (mariadb upsert)
+    @Modifying
+    @Query(value = "INSERT INTO tbl_todo_daily_stats (user_id, stat_date, created, completed) " +
+            "VALUES (:userId, :statDate, :created, :completed) " +
+            "ON DUPLICATE KEY UPDATE created = created + :created, completed = completed + :completed"
+            , nativeQuery = true)
+    void add(@Param("userId") String userId
+            , @Param("statDate") LocalDate statDate
+            , @Param("created") long created
+            , @Param("completed") long completed);
+
+    // 재집계 값으로 덮어쓰기 (동시에 재집계해도 중복키 에러 없게 upsert)
+    @Modifying
+    @Query(value = "INSERT INTO tbl_todo_daily_stats (user_id, stat_date, created, completed) " +
+            "VALUES (:userId, :statDate, :created, :completed) " +
+            "ON DUPLICATE KEY UPDATE created = :created, completed = :completed"
+            , nativeQuery = true)
+    void put(@Param("userId") String userId
+            , @Param("statDate") LocalDate statDate
+            , @Param("created") long created
+            , @Param("completed") long completed);
+
+    List<TodoDailyStats> findByUserIdAndStatDateGreaterThanEqualOrderByStatDate(String userId, LocalDate from);
+
+    @Modifying
+    @Query("DELETE FROM TodoDailyStats d WHERE d.userId = :userId")
+    void deleteByUserId(@Param("userId") String userId);
+
+}
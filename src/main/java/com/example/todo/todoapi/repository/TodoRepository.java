@@ -4,19 +4,44 @@ import com.example.todo.todoapi.entity.Todo;
 import com.example.todo.userapi.entity.User;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
-public interface TodoRepository extends JpaRepository<Todo, String> {
+public interface TodoRepository extends JpaRepository<Todo, String>, JpaSpecificationExecutor<Todo> {
 
     // 특정회원의 할일 목록 리턴
     // SELECT * FROM tbl_todo WHERE user_id =?
     // SELECT * FROM tbl_todo WHERE user_id:userId ,nativeQuery = true
     // JPQL
-    @Query("SELECT t FROM Todo t WHERE t.user = :user")
+    @Query("SELECT t FROM Todo t WHERE t.user = :user ORDER BY t.createDate")
     List<Todo> findAllByUser(@Param("user") User user);
+
+    // 회원이 보는 목록 = 내 개인 할 일 + 내가 속한 공유 목록의 할 일 (쿼리 한번)
+    // 각 부분이 (user_id, create_date), (user_id, list_id) -> (list_id, create_date) 인덱스를 탐
+    // 네이티브라 @Where가 안 붙어서 deleted_at 조건을 직접 씀
+    @Query(value = "SELECT t.* FROM tbl_todo t " +
+            "WHERE t.user_id = :userId AND t.list_id IS NULL AND t.deleted_at IS NULL " +
+            "UNION ALL " +
+            "SELECT t.* FROM tbl_shared_list_member m JOIN tbl_todo t ON t.list_id = m.list_id " +
+            "WHERE m.user_id = :userId AND t.deleted_at IS NULL " +
+            "ORDER BY create_date"
+            , nativeQuery = true)
+    List<Todo> findAllVisibleTo(@Param("userId") String userId);
+
+    // 회원 엔터티 조회 없이 id로 바로 목록 조회 (검색 색인 생성용) - 공유 목록 할 일 포함
+    @Query("SELECT t FROM Todo t WHERE (t.user.id = :userId AND t.listId IS NULL) " +
+            "OR t.listId IN (SELECT m.listId FROM SharedListMember m WHERE m.userId = :userId)")
+    List<Todo> findAllByUserId(@Param("userId") String userId);
+
+    // 수정/삭제 전 권한 확인용 [작성자 id, 공유 목록 id]
+    @Query("SELECT t.user.id, t.listId FROM Todo t WHERE t.todoId = :todoId")
+    List<Object[]> findOwnerAndListById(@Param("todoId") String todoId);
+
     // page 넣고싶으면 아래와 같이
 //    Page<Todo> findAllByUser(@Param("zzz") User user, Pageable pageable);
 
@@ -25,4 +50,121 @@ public interface TodoRepository extends JpaRepository<Todo, String> {
     @Query("SELECT COUNT(*) FROM Todo t WHERE t.user=:user")
     int countByUser(@Param("user") User user);
 
+
+    // 완료여부 수정 - 조회 없이 소유자 + 버전 조건으로 한방에 수정
+    // UPDATE tbl_todo SET done=?, version=version+1 WHERE todo_id=? AND user_id=? AND version=?
+    @Modifying(clearAutomatically = true)
+    // done <> :done 조건 -> 실제로 값이 바뀐 경우에만 1 (통계 카운터 증감 판단용)
+    @Query("UPDATE Todo t SET t.done = :done, t.version = t.version + 1 " +
+            "WHERE t.todoId = :todoId AND t.user.id = :userId AND t.version = :version AND t.done <> :done " +
+            "AND t.deletedAt IS NULL")
+    int updateDone(@Param("todoId") String todoId
+            , @Param("userId") String userId
+            , @Param("done") boolean done
+            , @Param("version") long version);
+
+    // 버전을 모르는 클라이언트용 (소유자 검사만 함)
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Todo t SET t.done = :done, t.version = t.version + 1 " +
+            "WHERE t.todoId = :todoId AND t.user.id = :userId AND t.done <> :done AND t.deletedAt IS NULL")
+    int updateDone(@Param("todoId") String todoId
+            , @Param("userId") String userId
+            , @Param("done") boolean done);
+
+    // 마감/알림 시간 수정 - 완료여부 수정과 같이 소유자 + 버전 조건으로 UPDATE 한번
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Todo t SET t.dueAt = :dueAt, t.remindAt = :remindAt, t.version = t.version + 1 " +
+            "WHERE t.todoId = :todoId AND t.user.id = :userId AND t.version = :version AND t.deletedAt IS NULL")
+    int updateSchedule(@Param("todoId") String todoId
+            , @Param("userId") String userId
+            , @Param("dueAt") LocalDateTime dueAt
+            , @Param("remindAt") LocalDateTime remindAt
+            , @Param("version") long version);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Todo t SET t.dueAt = :dueAt, t.remindAt = :remindAt, t.version = t.version + 1 " +
+            "WHERE t.todoId = :todoId AND t.user.id = :userId AND t.deletedAt IS NULL")
+    int updateSchedule(@Param("todoId") String todoId
+            , @Param("userId") String userId
+            , @Param("dueAt") LocalDateTime dueAt
+            , @Param("remindAt") LocalDateTime remindAt);
+
+    // 삭제 표시 (본인 할 일만) - 엔터티를 읽지 않고 UPDATE 한번
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Todo t SET t.deletedAt = :now, t.version = t.version + 1 " +
+            "WHERE t.todoId = :todoId AND t.user.id = :userId AND t.deletedAt IS NULL")
+    int softDelete(@Param("todoId") String todoId
+            , @Param("userId") String userId
+            , @Param("now") LocalDateTime now);
+
+    // 삭제 표시된 행도 읽어야 해서 네이티브로 [done, create_date] 조회 (통계 반영용)
+    @Query(value = "SELECT done, create_date FROM tbl_todo WHERE todo_id = :todoId", nativeQuery = true)
+    List<Object[]> findDoneAndCreateDateById(@Param("todoId") String todoId);
+
+    // 정리 작업 - 삭제 표시된지 오래된 할 일을 limit개씩 실제 삭제
+    @Modifying
+    @Query(value = "DELETE FROM tbl_todo WHERE deleted_at < :before LIMIT :limit", nativeQuery = true)
+    int purgeDeleted(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+    // 정리 작업 - 탈퇴한 회원의 할 일을 limit개씩 실제 삭제
+    @Modifying
+    @Query(value = "DELETE FROM tbl_todo WHERE user_id = :userId LIMIT :limit", nativeQuery = true)
+    int purgeByUserId(@Param("userId") String userId, @Param("limit") int limit);
+
+    // 정리 작업 - 회원이 아무도 안 남은 공유 목록의 할 일을 limit개씩 실제 삭제
+    @Modifying
+    @Query(value = "DELETE FROM tbl_todo WHERE list_id = :listId LIMIT :limit", nativeQuery = true)
+    int purgeByListId(@Param("listId") String listId, @Param("limit") int limit);
+
+    // 수정 실패시 원인 구분용 (없는 할 일인지, 버전이 다른건지)
+    boolean existsByTodoIdAndUser_Id(String todoId, String userId);
+
+    boolean existsByTodoIdAndUser_IdAndVersion(String todoId, String userId, long version);
+
+    // 통계 일별 버킷을 찾기 위한 등록일만 조회
+    @Query("SELECT t.createDate FROM Todo t WHERE t.todoId = :todoId")
+    LocalDateTime findCreateDateById(@Param("todoId") String todoId);
+
+    // 보관 대상 [todo_id, user_id, list_id] - 오래된 완료 할 일을 등록순으로 batch 만큼 잠그고 가져옴
+    @Query(value = "SELECT todo_id, user_id, list_id FROM tbl_todo " +
+            "WHERE done = true AND create_date < :cutoff AND deleted_at IS NULL " +
+            "ORDER BY create_date LIMIT :limit FOR UPDATE"
+            , nativeQuery = true)
+    List<Object[]> findArchivableForUpdate(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    // 알림 엔진용 [todo_id, user_id, title, remind_at, list_id] - remind_at 인덱스로 [from, to) 구간을 (시간, id) 순서로 limit개씩
+    // 같은 시간에 몰린 알림이 limit보다 많아도 빠지지 않게 (afterTime, afterId) 다음부터 읽음
+    @Query(value = "SELECT todo_id, user_id, title, remind_at, list_id FROM tbl_todo " +
+            "WHERE remind_at >= :from AND remind_at < :to AND done = false AND deleted_at IS NULL " +
+            "AND (remind_at > :afterTime OR (remind_at = :afterTime AND todo_id > :afterId)) " +
+            "ORDER BY remind_at, todo_id LIMIT :limit"
+            , nativeQuery = true)
+    List<Object[]> findRemindersBetween(@Param("from") LocalDateTime from
+            , @Param("to") LocalDateTime to
+            , @Param("afterTime") LocalDateTime afterTime
+            , @Param("afterId") String afterId
+            , @Param("limit") int limit);
+
+    // 알림 하나 다시 읽기 (다른 서버에서 알림 시간이 바뀌었을 때) - 없으면 완료/삭제/알림 끔
+    @Query(value = "SELECT todo_id, user_id, title, remind_at, list_id FROM tbl_todo " +
+            "WHERE todo_id = :todoId AND remind_at IS NOT NULL AND done = false AND deleted_at IS NULL"
+            , nativeQuery = true)
+    List<Object[]> findReminderById(@Param("todoId") String todoId);
+
+    // 알림 보내기 직전 확인 - 만료된 알림들을 틱마다 한번에 [todo_id, remind_at] (완료/삭제/시간변경된 건 빠짐)
+    @Query("SELECT t.todoId, t.remindAt FROM Todo t WHERE t.todoId IN :ids AND t.done = false")
+    List<Object[]> findPendingReminders(@Param("ids") List<String> ids);
+
+    @Modifying
+    @Query("DELETE FROM Todo t WHERE t.todoId IN :ids")
+    int deleteAllByIdIn(@Param("ids") List<String> ids);
+
+    // 등록일별 [날짜, 등록수, 완료수]
+    @Query(value = "SELECT CAST(create_date AS DATE) AS stat_date, COUNT(*) AS created" +
+            ", SUM(CASE WHEN done THEN 1 ELSE 0 END) AS completed " +
+            "FROM tbl_todo WHERE user_id = :userId AND deleted_at IS NULL GROUP BY CAST(create_date AS DATE)"
+            , nativeQuery = true)
+    List<Object[]> countDailyByUserId(@Param("userId") String userId);
+
+
 }
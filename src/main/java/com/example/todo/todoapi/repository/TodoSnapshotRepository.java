@@ -0,0 +1,55 @@
+package com.example.todo.todoapi.repository;
+
+import com.example.todo.todoapi.entity.TodoSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface TodoSnapshotRepository extends JpaRepository<TodoSnapshot, String> {
+
+    // 목록 조회 - 엔티티로 안 만들고 바이트만 (행이 없거나 무효화된 상태면 null)
+    @Query("SELECT s.payload FROM TodoSnapshot s WHERE s.userId = :userId")
+    byte[] findPayload(@Param("userId") String userId);
+
+    @Query("SELECT s.version FROM TodoSnapshot s WHERE s.userId = :userId")
+    Long findVersion(@Param("userId") String userId);
+
+    // 쓰기 트랜잭션의 첫 문장 - 행을 잠가서 같은 회원의 쓰기를 줄 세우고 버전을 올림
+    @Modifying
+    @Query(value = "INSERT INTO tbl_todo_snapshot (user_id, version, updated_at) VALUES (:userId, 1, :now) " +
+            "ON DUPLICATE KEY UPDATE version = version + 1, updated_at = :now"
+            , nativeQuery = true)
+    int lock(@Param("userId") String userId, @Param("now") LocalDateTime now);
+
+    // 쓰기 트랜잭션 끝에서 새 목록으로 교체 (lock 으로 잡은 행)
+    @Modifying
+    @Query("UPDATE TodoSnapshot s SET s.payload = :payload, s.updatedAt = :now WHERE s.userId = :userId")
+    int replace(@Param("userId") String userId, @Param("payload") byte[] payload, @Param("now") LocalDateTime now);
+
+    // 조회하다 없어서 만든 목록 저장 - 그 사이에 쓰기가 있었으면 저장 안함 (옛날 목록으로 덮어쓰지 않게)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO tbl_todo_snapshot (user_id, payload, version, updated_at) " +
+            "VALUES (:userId, :payload, 0, :now)"
+            , nativeQuery = true)
+    int insertIfAbsent(@Param("userId") String userId, @Param("payload") byte[] payload, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE TodoSnapshot s SET s.payload = :payload, s.updatedAt = :now " +
+            "WHERE s.userId = :userId AND s.version = :version AND s.payload IS NULL")
+    int fillIfUnchanged(@Param("userId") String userId
+            , @Param("payload") byte[] payload
+            , @Param("version") long version
+            , @Param("now") LocalDateTime now);
+
+    // 목록이 TodoService 밖에서 바뀐 경우 (보관 작업) - 다음 조회 때 다시 만듦
+    @Modifying
+    @Query("UPDATE TodoSnapshot s SET s.payload = NULL, s.version = s.version + 1 WHERE s.userId = :userId")
+    int invalidate(@Param("userId") String userId);
+
+    @Modifying
+    @Query("DELETE FROM TodoSnapshot s WHERE s.userId = :userId")
+    void deleteByUserId(@Param("userId") String userId);
+}
@@ -0,0 +1,69 @@
+package com.example.todo.todoapi.repository;
+
+import com.example.todo.todoapi.dto.request.TodoFilterRequestDTO;
+import com.example.todo.todoapi.entity.Todo;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+// 할 일 목록 조회 조건을 WHERE 절로 만들어주는 모음
+// 개인 할 일과 공유 목록 할 일은 OR로 묶지 않고 따로 조회 (findAllVisibleTo 의 UNION ALL 처럼)
+// - 개인: (user_id, done, create_date) 인덱스
+// - 공유 목록: (list_id, create_date) 인덱스
+public final class TodoSpecifications {
+
+    private TodoSpecifications() {
+    }
+
+    // 내 개인 할 일 중 필터에 맞는 것
+    public static Specification<Todo> matches(String userId, TodoFilterRequestDTO filter) {
+        return Specification.where(personalOf(userId))
+                .and(filtered(filter));
+    }
+
+    // 공유 목록 할 일 중 필터에 맞는 것
+    public static Specification<Todo> matchesInLists(Collection<String> listIds, TodoFilterRequestDTO filter) {
+        return Specification.where(inLists(listIds))
+                .and(filtered(filter));
+    }
+
+    private static Specification<Todo> filtered(TodoFilterRequestDTO filter) {
+        return Specification.where(doneIs(filter.getDone()))
+                .and(createdFrom(filter.getFrom()))
+                .and(createdTo(filter.getTo()));
+    }
+
+    // WHERE user_id = ? (회원 테이블 조인 없음)
+    public static Specification<Todo> ownedBy(String userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    // WHERE user_id = ? AND list_id IS NULL
+    public static Specification<Todo> personalOf(String userId) {
+        return (root, query, cb) -> cb.and(
+                cb.equal(root.get("user").get("id"), userId),
+                cb.isNull(root.get("listId")));
+    }
+
+    // WHERE list_id IN (?, ?, ...)
+    public static Specification<Todo> inLists(Collection<String> listIds) {
+        return (root, query, cb) -> root.get("listId").in(listIds);
+    }
+
+    public static Specification<Todo> doneIs(Boolean done) {
+        if (done == null) return null;
+        return (root, query, cb) -> cb.equal(root.get("done"), done);
+    }
+
+    public static Specification<Todo> createdFrom(LocalDate from) {
+        if (from == null) return null;
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createDate"), from.atStartOfDay());
+    }
+
+    // to 날짜 당일까지 포함하도록 다음날 0시 미만으로
+    public static Specification<Todo> createdTo(LocalDate to) {
+        if (to == null) return null;
+        return (root, query, cb) -> cb.lessThan(root.get("createDate"), to.plusDays(1).atStartOfDay());
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.todo.todoapi.repository;
+
+import com.example.todo.todoapi.entity.TodoStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface TodoStatsRepository extends JpaRepository<TodoStats, String> {
+
+    // 카운터 증감 (집계 행이 있는 회원만 - 리턴값이 0이면 아직 집계 전인 회원)
+    @Modifying
+    @Query("UPDATE TodoStats s SET s.total = s.total + :total, s.done = s.done + :done WHERE s.userId = :userId")
+    int add(@Param("userId") String userId
+            , @Param("total") long total
+            , @Param("done") long done);
+
+    /**
+     * 회원의 할 일을 세서 카운터 행을 만들거나 덮어씀 (문장 하나 - 동시에 처음 조회해도 중복키 에러 없음)
+     * INSERT ... SELECT 는 세는 동안 그 회원의 할 일 행(과 사이 gap)에 공유 잠금을 걸어서 (REPEATABLE READ, 기본값)
+     * 세는 중인 등록/수정/삭제는 이 트랜잭션이 끝날 때까지 기다렸다가 만들어진 행에 +-1 함 (증감이 빠지지 않음)
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(value = "INSERT INTO tbl_todo_stats (user_id, total, done) " +
+            "SELECT :userId, COUNT(*), COALESCE(SUM(CASE WHEN done THEN 1 ELSE 0 END), 0) " +
+            "FROM tbl_todo WHERE user_id = :userId AND deleted_at IS NULL " +
+            "ON DUPLICATE KEY UPDATE total = VALUES(total), done = VALUES(done)"
+            , nativeQuery = true)
+    void recount(@Param("userId") String userId);
+
+    @Modifying
+    @Query("DELETE FROM TodoStats s WHERE s.userId = :userId")
+    void deleteByUserId(@Param("userId") String userId);
+
+}
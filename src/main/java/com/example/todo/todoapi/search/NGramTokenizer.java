@@ -0,0 +1,65 @@
+package com.example.todo.todoapi.search;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+// 한글 제목 검색용 n-gram 토크나이저
+// 한글은 띄어쓰기/조사 때문에 단어 단위로 자르면 "장보기"를 "장보"로 못찾음 -> 글자 단위(1-gram, 2-gram)로 자름
+// 예) "마트 장보기" -> [마, 트, 마트, 장, 보, 기, 장보, 보기]
+public final class NGramTokenizer {
+
+    private NGramTokenizer() {
+    }
+
+    // 조합형/완성형 차이, 대소문자 차이를 없앰
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 색인용 토큰 - 단어별 1-gram + 2-gram
+     */
+    public static Set<String> indexGrams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String word : words(text)) {
+            for (int i = 0; i < word.length(); i++) {
+                grams.add(word.substring(i, i + 1));
+                if (i + 1 < word.length()) {
+                    grams.add(word.substring(i, i + 2));
+                }
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * 검색어 토큰 - 두 글자 이상인 단어는 2-gram만, 한 글자 단어는 1-gram
+     * (모든 토큰이 들어있는 문서만 후보가 됨)
+     */
+    public static Set<String> queryGrams(String query) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String word : words(query)) {
+            if (word.length() == 1) {
+                grams.add(word);
+                continue;
+            }
+            for (int i = 0; i + 1 < word.length(); i++) {
+                grams.add(word.substring(i, i + 2));
+            }
+        }
+        return grams;
+    }
+
+    private static String[] words(String text) {
+        String normalized = normalize(text).trim();
+        if (normalized.isEmpty()) {
+            return new String[0];
+        }
+        return normalized.split("[\\s\\p{Punct}]+");
+    }
+}
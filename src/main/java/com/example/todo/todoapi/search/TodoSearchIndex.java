@@ -0,0 +1,187 @@
+package com.example.todo.todoapi.search;
+
+import com.example.todo.cache.CacheRegions;
+import com.example.todo.cache.TwoTierCache;
+import com.example.todo.todoapi.dto.response.TodoDetailResponseDTO;
+import com.example.todo.todoapi.event.SharedListChangedEvent;
+import com.example.todo.todoapi.event.TodoChangedEvent;
+import com.example.todo.todoapi.repository.TodoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+
+// 회원별 할 일 제목 역색인 (n-gram -> 할 일 id 목록)
+// - 처음 검색할 때 그 회원 것만 DB에서 읽어서 만듦 (서버 재시작 후 lazy build)
+// - 이후에는 등록/수정/삭제 이벤트로 조금씩 고침 -> 검색할 때 DB를 안 감
+// - 다른 서버에서 바뀐 목록은 이벤트가 안 오니까 목록 버전 무효화 메시지(TODO_LIST_VERSION)를 받으면 색인을 버림
+@Component
+@Slf4j
+public class TodoSearchIndex {
+
+    private final TodoRepository todoRepository;
+    private final int maxUsers;
+
+    private final ConcurrentHashMap<String, UserIndex> indexes = new ConcurrentHashMap<>();
+    // 바뀔 때마다 올라가는 번호 (회원 id를 해시로 나눈 칸별)
+    // DB에서 색인을 만드는 사이에 변경이 끼어들었으면 만든 색인을 저장하지 않음
+    private final AtomicLongArray generations = new AtomicLongArray(1024);
+
+    public TodoSearchIndex(
+            TodoRepository todoRepository
+            , TwoTierCache twoTierCache
+            , @Value("${todo.search.max-users:10000}") int maxUsers) {
+        this.todoRepository = todoRepository;
+        this.maxUsers = maxUsers;
+        twoTierCache.onRemoteEvict(CacheRegions.TODO_LIST_VERSION, this::discard);
+    }
+
+    /**
+     * 회원의 할 일 중 제목에 검색어가 들어간 것을 찾음
+     *
+     * @param userId - 검색하는 회원
+     * @param query - 검색어
+     * @return - 제목순으로 정렬된 검색결과
+     */
+    public List<TodoDetailResponseDTO> search(String userId, String query) {
+        if (indexes.size() >= maxUsers && !indexes.containsKey(userId)) {
+            evictOne();
+        }
+        UserIndex index = indexes.get(userId);
+        if (index == null) {
+            // DB 조회는 map 밖에서 (computeIfAbsent 안에서 하면 같은 칸의 다른 회원들까지 기다림)
+            long generation = generations.get(stripe(userId));
+            UserIndex built = build(userId);
+            if (generations.get(stripe(userId)) != generation) {
+                return built.search(query); // 만드는 중에 바뀜 -> 이번 검색에만 쓰고 다음에 다시 만듦
+            }
+            UserIndex existing = indexes.putIfAbsent(userId, built);
+            index = existing != null ? existing : built;
+        }
+        return index.search(query);
+    }
+
+    // 커밋된 변경만 색인에 반영, 아직 색인이 없는 회원은 무시 (나중에 검색할때 DB에서 만듦)
+    // 공유 목록 할 일이면 목록 회원들의 색인 모두
+    @TransactionalEventListener
+    public void onTodoChanged(TodoChangedEvent event) {
+        for (String recipient : event.getRecipients()) {
+            generations.incrementAndGet(stripe(recipient));
+            indexes.computeIfPresent(recipient, (userId, index) -> {
+                // 삭제/보관된 경우 todo가 없음 -> 목록에서 빠진 것
+                if (event.getTodo() == null) {
+                    index.remove(event.getTodoId());
+                } else {
+                    index.put(event.getTodo());
+                }
+                return index;
+            });
+        }
+    }
+
+    // 공유 목록에 들어오거나 나간 회원은 색인을 버림 (다음 검색 때 다시 만듦)
+    @TransactionalEventListener
+    public void onSharedListChanged(SharedListChangedEvent event) {
+        event.getUserIds().forEach(this::discard);
+    }
+
+    private void discard(String userId) {
+        generations.incrementAndGet(stripe(userId));
+        indexes.remove(userId);
+    }
+
+    private int stripe(String userId) {
+        return (userId.hashCode() & 0x7fffffff) % generations.length();
+    }
+
+    private UserIndex build(String userId) {
+        UserIndex index = new UserIndex();
+        todoRepository.findAllByUserId(userId)
+                .forEach(todo -> index.put(new TodoDetailResponseDTO(todo)));
+        log.debug("검색 색인 생성 - user: {}, 할 일 {}개", userId, index.size());
+        return index;
+    }
+
+    private void evictOne() {
+        Iterator<String> it = indexes.keySet().iterator();
+        if (it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    // 회원 한 명의 색인
+    static class UserIndex {
+
+        private final Map<String, TodoDetailResponseDTO> docs = new HashMap<>();
+        private final Map<String, Set<String>> postings = new HashMap<>();
+
+        synchronized void put(TodoDetailResponseDTO todo) {
+            remove(todo.getId());
+            docs.put(todo.getId(), todo);
+            for (String gram : NGramTokenizer.indexGrams(todo.getTitle())) {
+                postings.computeIfAbsent(gram, k -> new HashSet<>()).add(todo.getId());
+            }
+        }
+
+        synchronized void remove(String todoId) {
+            TodoDetailResponseDTO removed = docs.remove(todoId);
+            if (removed == null) {
+                return;
+            }
+            for (String gram : NGramTokenizer.indexGrams(removed.getTitle())) {
+                Set<String> ids = postings.get(gram);
+                if (ids != null) {
+                    ids.remove(todoId);
+                    if (ids.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+
+        synchronized List<TodoDetailResponseDTO> search(String query) {
+            Set<String> grams = NGramTokenizer.queryGrams(query);
+            if (grams.isEmpty()) {
+                return Collections.emptyList();
+            }
+
+            // 가장 짧은 목록부터 교집합 -> 비용이 전체 할 일 수가 아니라 후보 수에 비례
+            List<Set<String>> lists = new ArrayList<>();
+            for (String gram : grams) {
+                Set<String> ids = postings.get(gram);
+                if (ids == null) {
+                    return Collections.emptyList();
+                }
+                lists.add(ids);
+            }
+            lists.sort(Comparator.comparingInt(Set::size));
+
+            Set<String> candidates = new HashSet<>(lists.get(0));
+            for (int i = 1; i < lists.size() && !candidates.isEmpty(); i++) {
+                candidates.retainAll(lists.get(i));
+            }
+
+            // 2-gram이 다 있어도 순서가 다를 수 있으니 최종 확인 (띄어쓰기는 무시)
+            String needle = compact(query);
+            return candidates.stream()
+                    .map(docs::get)
+                    .filter(todo -> compact(todo.getTitle()).contains(needle))
+                    .sorted(Comparator.comparing(TodoDetailResponseDTO::getTitle))
+                    .collect(Collectors.toList());
+        }
+
+        synchronized int size() {
+            return docs.size();
+        }
+
+        private static String compact(String text) {
+            return NGramTokenizer.normalize(text).replaceAll("\\s+", "");
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.todo.todoapi.service;
+
+import com.example.todo.cache.CacheRegions;
+import com.example.todo.cache.TwoTierCache;
+import com.example.todo.todoapi.event.SharedListChangedEvent;
+import com.example.todo.todoapi.repository.SharedListMemberRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// 공유 목록 접근 확인과 회원 목록 (2단 캐시라 수정/삭제/등록마다 회원 테이블을 보지 않음)
+// - 접근 여부는 (회원, 목록)별로 캐시 (아니라는 결과도 캐시)
+// - 회원 목록은 목록별로 캐시 -> 공유 할 일이 바뀌면 이 목록으로 회원들의 목록 캐시를 지움
+// 회원이 바뀌면 커밋 후에 지우고 다른 서버에도 무효화 메시지가 감
+@Component
+@RequiredArgsConstructor
+public class SharedListAccess {
+
+    private final SharedListMemberRepository memberRepository;
+    private final TwoTierCache twoTierCache;
+
+    public boolean canAccess(String userId, String listId) {
+        Boolean member = twoTierCache.get(CacheRegions.SHARED_LIST_ACCESS, accessKey(userId, listId), Boolean.class
+                , () -> memberRepository.existsByListIdAndUserId(listId, userId));
+        return Boolean.TRUE.equals(member);
+    }
+
+    public List<String> membersOf(String listId) {
+        String[] members = twoTierCache.get(CacheRegions.SHARED_LIST_MEMBERS, listId, String[].class
+                , () -> memberRepository.findUserIdsByListId(listId).toArray(new String[0]));
+        return Arrays.asList(members);
+    }
+
+    /**
+     * 할 일이 바뀌었을 때 목록이 바뀌는 회원들
+     *
+     * @param ownerId - 할 일 작성자
+     * @param listId - 공유 목록 id (개인 할 일이면 null)
+     * @return - 개인 할 일이면 작성자 한 명, 공유 목록이면 목록 회원 전부
+     */
+    public Collection<String> recipientsOf(String ownerId, String listId) {
+        return listId == null ? List.of(ownerId) : membersOf(listId);
+    }
+
+    @TransactionalEventListener
+    public void onSharedListChanged(SharedListChangedEvent event) {
+        twoTierCache.evict(CacheRegions.SHARED_LIST_MEMBERS, event.getListId());
+        twoTierCache.evictAll(CacheRegions.SHARED_LIST_ACCESS, event.getUserIds().stream()
+                .map(userId -> accessKey(userId, event.getListId()))
+                .collect(Collectors.toList()));
+    }
+
+    private static String accessKey(String userId, String listId) {
+        return userId + ":" + listId;
+    }
+}
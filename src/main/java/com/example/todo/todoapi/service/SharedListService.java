@@ -0,0 +1,136 @@
+package com.example.todo.todoapi.service;
+
+import com.example.todo.exception.NoRegisteredArgumentsException;
+import com.example.todo.exception.SharedListNotFoundException;
+import com.example.todo.todoapi.dto.request.SharedListCreateRequestDTO;
+import com.example.todo.todoapi.dto.response.SharedListListResponseDTO;
+import com.example.todo.todoapi.dto.response.SharedListResponseDTO;
+import com.example.todo.todoapi.entity.SharedList;
+import com.example.todo.todoapi.event.SharedListChangedEvent;
+import com.example.todo.todoapi.repository.SharedListMemberRepository;
+import com.example.todo.todoapi.repository.SharedListRepository;
+import com.example.todo.todoapi.snapshot.TodoSnapshotStore;
+import com.example.todo.userapi.entity.User;
+import com.example.todo.userapi.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// 공유 목록 만들기, 회원 추가/내보내기
+// 회원이 바뀌면 SharedListChangedEvent -> 커밋 후 접근 캐시, 그 회원의 목록 캐시/ETag/검색 색인을 다시 만들게 함
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@Transactional
+public class SharedListService {
+
+    private final SharedListRepository listRepository;
+    private final SharedListMemberRepository memberRepository;
+    private final UserRepository userRepository;
+    private final SharedListAccess sharedListAccess;
+    private final TodoSnapshotStore todoSnapshotStore;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 내가 속한 공유 목록 (회원 목록은 캐시)
+    @Transactional(readOnly = true)
+    public SharedListListResponseDTO retrieve(String userId) {
+        List<SharedListResponseDTO> lists = listRepository.findAllByMember(userId).stream()
+                .map(list -> new SharedListResponseDTO(list, sharedListAccess.membersOf(list.getListId())))
+                .collect(Collectors.toList());
+
+        return SharedListListResponseDTO.builder()
+                .lists(lists)
+                .build();
+    }
+
+    // 공유 목록 만들기 - 만든 회원이 첫 회원
+    public SharedListResponseDTO create(String userId, SharedListCreateRequestDTO requestDTO) {
+        SharedList list = listRepository.save(requestDTO.toEntity(userId));
+        join(list.getListId(), userId);
+        log.debug("공유 목록 생성 - list: {}, owner: {}", list.getListId(), userId);
+        return toResponse(list);
+    }
+
+    /**
+     * 공유 목록에 회원 추가 (목록을 만든 회원만)
+     *
+     * @throws SharedListNotFoundException - 없는 목록이거나 회원이 아닌 경우
+     * @throws IllegalStateException - 목록을 만든 회원이 아닌 경우
+     * @throws NoRegisteredArgumentsException - 가입되지 않은 이메일
+     */
+    public SharedListResponseDTO addMember(String userId, String listId, String email) {
+        SharedList list = getOwnedList(userId, listId);
+
+        User member = userRepository.findByEmail(email).orElseThrow(
+                () -> new NoRegisteredArgumentsException("가입된 회원이 아닙니다.")
+        );
+        join(listId, member.getId());
+        return toResponse(list);
+    }
+
+    /**
+     * 회원 내보내기 (목록을 만든 회원) 또는 나가기 (본인)
+     * 그 회원이 쓴 할 일은 목록에 남음
+     *
+     * @throws SharedListNotFoundException - 없는 목록이거나 회원이 아닌 경우
+     * @throws IllegalStateException - 권한이 없거나 만든 회원이 나가려는 경우
+     */
+    public SharedListResponseDTO removeMember(String userId, String listId, String memberId) {
+        SharedList list = getList(userId, listId);
+
+        boolean owner = list.getOwnerId().equals(userId);
+        if (!owner && !userId.equals(memberId)) {
+            throw new IllegalStateException("목록을 만든 회원만 다른 회원을 내보낼 수 있습니다.");
+        }
+        if (list.getOwnerId().equals(memberId)) {
+            throw new IllegalStateException("목록을 만든 회원은 나갈 수 없습니다.");
+        }
+
+        if (memberRepository.deleteMember(listId, memberId) > 0) {
+            changed(listId, memberId);
+        }
+        return toResponse(list);
+    }
+
+    // 이미 회원이면 그대로 (동시에 같은 회원을 추가해도 한 번만 들어감)
+    private void join(String listId, String userId) {
+        if (memberRepository.joinIfAbsent(listId, userId, LocalDateTime.now()) > 0) {
+            changed(listId, userId);
+        }
+    }
+
+    // 들어오거나 나간 회원만 보이는 할 일이 바뀜 (다른 회원들 목록은 그대로)
+    private void changed(String listId, String userId) {
+        todoSnapshotStore.invalidateAfterCommit(List.of(userId));
+        eventPublisher.publishEvent(new SharedListChangedEvent(listId, List.of(userId)));
+    }
+
+    // 회원이 아니면 목록이 있는지도 알려주지 않음
+    private SharedList getList(String userId, String listId) {
+        if (!memberRepository.existsByListIdAndUserId(listId, userId)) {
+            throw new SharedListNotFoundException("공유 목록이 없습니다.");
+        }
+        return listRepository.findById(listId).orElseThrow(
+                () -> new SharedListNotFoundException("공유 목록이 없습니다.")
+        );
+    }
+
+    private SharedList getOwnedList(String userId, String listId) {
+        SharedList list = getList(userId, listId);
+        if (!list.getOwnerId().equals(userId)) {
+            throw new IllegalStateException("목록을 만든 회원만 회원을 추가할 수 있습니다.");
+        }
+        return list;
+    }
+
+    // 쓰기 트랜잭션 안이라 캐시를 거치지 않고 DB에서 회원 목록을 읽음
+    private SharedListResponseDTO toResponse(SharedList list) {
+        return new SharedListResponseDTO(list, memberRepository.findUserIdsByListId(list.getListId()));
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.todo.todoapi.service;
+
+import com.example.todo.todoapi.dto.response.TodoArchiveListResponseDTO;
+import com.example.todo.todoapi.dto.response.TodoArchiveResponseDTO;
+import com.example.todo.todoapi.entity.TodoArchive;
+import com.example.todo.todoapi.event.TodoChangedEvent;
+import com.example.todo.todoapi.repository.TodoArchiveRepository;
+import com.example.todo.todoapi.repository.TodoRepository;
+import com.example.todo.todoapi.snapshot.TodoSnapshotStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// 오래된 완료 할 일을 보관 테이블로 옮기는 작업
+// 한번에 batch-size 개씩, batch마다 별도 트랜잭션 -> 락을 오래 잡지 않고 목록 조회를 막지 않음
+@Service
+@Slf4j
+public class TodoArchiveService {
+
+    private final TodoRepository todoRepository;
+    private final TodoArchiveRepository archiveRepository;
+    private final TodoStatsService todoStatsService;
+    private final TodoSnapshotStore todoSnapshotStore;
+    private final SharedListAccess sharedListAccess;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int maxAgeDays;
+    private final int batchSize;
+    private final int maxBatches;
+
+    public TodoArchiveService(
+            TodoRepository todoRepository
+            , TodoArchiveRepository archiveRepository
+            , TodoStatsService todoStatsService
+            , TodoSnapshotStore todoSnapshotStore
+            , SharedListAccess sharedListAccess
+            , ApplicationEventPublisher eventPublisher
+            , TransactionTemplate transactionTemplate
+            , @Value("${todo.archive.max-age-days:30}") int maxAgeDays
+            , @Value("${todo.archive.batch-size:500}") int batchSize
+            , @Value("${todo.archive.max-batches:1000}") int maxBatches) {
+        this.todoRepository = todoRepository;
+        this.archiveRepository = archiveRepository;
+        this.todoStatsService = todoStatsService;
+        this.todoSnapshotStore = todoSnapshotStore;
+        this.sharedListAccess = sharedListAccess;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.maxAgeDays = maxAgeDays;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+    }
+
+    // 등록된지 max-age-days 지난 완료 할 일을 보관
+    @Scheduled(cron = "${todo.archive.cron:0 0 3 * * *}")
+    public void archiveCompleted() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(maxAgeDays);
+
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Integer moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            if (moved == null || moved == 0) {
+                break;
+            }
+            total += moved;
+            if (moved < batchSize) {
+                break;
+            }
+        }
+        log.info("완료된 할 일 보관 작업 끝 - {}개 이동 (기준: {} 이전 등록)", total, cutoff);
+    }
+
+    /**
+     * 한 batch 옮기기 (호출하는 쪽에서 트랜잭션을 열어야 함)
+     *
+     * @return - 옮긴 개수
+     */
+    public int archiveBatch(LocalDateTime cutoff) {
+
+        // [todo_id, user_id, list_id] - FOR UPDATE로 잠가서 옮기는 중에 수정되지 않게
+        List<Object[]> targets = todoRepository.findArchivableForUpdate(cutoff, batchSize);
+        if (targets.isEmpty()) {
+            return 0;
+        }
+
+        List<String> ids = new ArrayList<>();
+        Map<String, Integer> countByUser = new HashMap<>();
+        for (Object[] row : targets) {
+            ids.add((String) row[0]);
+            countByUser.merge((String) row[1], 1, Integer::sum);
+        }
+
+        archiveRepository.copyFromTodos(ids, LocalDateTime.now());
+        todoRepository.deleteAllByIdIn(ids);
+
+        // 카운터 반영 + 목록 버전/SSE/검색 색인에 빠졌다고 알림 (커밋 후 전달됨)
+        // 공유 목록 할 일은 목록 회원 모두의 목록에서 빠짐
+        countByUser.forEach(todoStatsService::onArchived);
+        Set<String> changedUsers = new HashSet<>();
+        for (Object[] row : targets) {
+            String userId = (String) row[1];
+            String listId = (String) row[2];
+            Collection<String> recipients = sharedListAccess.recipientsOf(userId, listId);
+            changedUsers.addAll(recipients);
+            eventPublisher.publishEvent(new TodoChangedEvent(
+                    TodoChangedEvent.Type.ARCHIVED, userId, (String) row[0], null, listId, recipients));
+        }
+        todoSnapshotStore.invalidateAfterCommit(changedUsers);
+        return ids.size();
+    }
+
+    /**
+     * 보관된 할 일 페이지 조회 (최근 등록순)
+     */
+    public TodoArchiveListResponseDTO retrieve(String userId, int page, int size) {
+
+        Page<TodoArchive> result = archiveRepository.findByUserId(
+                userId, PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createDate")));
+
+        List<TodoArchiveResponseDTO> dtoList = result.getContent().stream()
+                .map(TodoArchiveResponseDTO::new)
+                .collect(Collectors.toList());
+
+        return TodoArchiveListResponseDTO.builder()
+                .todos(dtoList)
+                .page(result.getNumber())
+                .size(result.getSize())
+                .totalElements(result.getTotalElements())
+                .totalPages(result.getTotalPages())
+                .build();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.todo.todoapi.service;
+
+import com.example.todo.cache.CacheRegions;
+import com.example.todo.cache.TwoTierCache;
+import com.example.todo.todoapi.event.SharedListChangedEvent;
+import com.example.todo.todoapi.event.TodoChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+// 회원별 할 일 목록의 버전을 기억하는 객체 (목록 ETag 생성용)
+// 목록이 바뀔 때만 버전이 바뀌니까, 버전이 같으면 DB 조회 없이 304를 줄 수 있음
+// 버전은 공유 캐시(TODO_LIST_VERSION)에 넣어둔 랜덤 값 - 목록이 바뀌면 지우고, 없으면 새로 뽑아서 SET NX
+// - 모든 서버가 공유 캐시에서 같은 값을 읽으니 요청이 다른 서버로 가도 304
+// - 목록 캐시 키에도 버전을 붙임 (회원id@버전) -> 다른 서버가 바뀌기 전에 읽은 목록을 늦게 써도 새 버전으로는 안 읽힘
+// - 무효화 메시지를 놓쳐도 캐시 ttl이 지나면 새 값이 뽑혀서 옛 목록에 304를 계속 주지 않음
+// 공유 목록 할 일은 회원 전부의 목록이 바뀜 -> 트랜잭션 동안 바뀐 회원을 모아뒀다가 커밋 후에 한번에 지움
+// (보관 작업처럼 한 트랜잭션에 이벤트가 많아도 회원마다 한번, Redis는 DEL/메시지 몇 번)
+@Component
+public class TodoListVersionTracker {
+
+    private final TwoTierCache twoTierCache;
+
+    public TodoListVersionTracker(TwoTierCache twoTierCache) {
+        this.twoTierCache = twoTierCache;
+    }
+
+    /**
+     * 회원의 현재 목록 버전을 ETag 값으로 리턴
+     * 주의: 목록을 조회하기 *전에* 불러야 함 (조회 중에 커밋된 변경은 다음 요청에서 다시 받게 됨)
+     *
+     * @param userId - 목록 주인
+     * @return - 따옴표 없는 ETag 값
+     */
+    public String currentTag(String userId) {
+        return twoTierCache.version(CacheRegions.TODO_LIST_VERSION, userId);
+    }
+
+    // 목록 캐시 키 - 버전을 붙여서 버전이 바뀌면 옛 목록은 저절로 안 읽힘 (shared ttl이 지나면 사라짐)
+    public String listCacheKey(String userId) {
+        return userId + "@" + currentTag(userId);
+    }
+
+    // 커밋이 끝난 뒤에 버전을 올려야 새 버전으로 옛날 데이터가 캐싱되지 않음
+    @EventListener
+    public void onTodoChanged(TodoChangedEvent event) {
+        invalidateAfterCommit(event.getRecipients());
+    }
+
+    // 공유 목록에 들어오거나 나간 회원은 보이는 할 일이 바뀜
+    @EventListener
+    public void onSharedListChanged(SharedListChangedEvent event) {
+        invalidateAfterCommit(event.getUserIds());
+    }
+
+    private void invalidateAfterCommit(Collection<String> userIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(userIds);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<String> changed = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, changed);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(changed);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TodoListVersionTracker.this);
+                }
+            });
+            pending = changed;
+        }
+        pending.addAll(userIds);
+    }
+
+    // 버전만 지우면 됨 (목록 캐시는 옛 버전 키에 남아있다가 ttl로 사라짐)
+    private void invalidate(Collection<String> userIds) {
+        twoTierCache.evictAll(CacheRegions.TODO_LIST_VERSION, userIds);
+    }
+
+}
@@ -0,0 +1,203 @@
+package com.example.todo.todoapi.service;
+
+import com.example.todo.storage.StorageService;
+import com.example.todo.storage.StoredFileRepository;
+import com.example.todo.todoapi.event.SharedListChangedEvent;
+import com.example.todo.todoapi.repository.SharedListMemberRepository;
+import com.example.todo.todoapi.repository.SharedListRepository;
+import com.example.todo.todoapi.repository.TodoArchiveRepository;
+import com.example.todo.todoapi.repository.TodoDailyStatsRepository;
+import com.example.todo.todoapi.repository.TodoRepository;
+import com.example.todo.todoapi.repository.TodoSnapshotRepository;
+import com.example.todo.todoapi.repository.TodoStatsRepository;
+import com.example.todo.todoapi.snapshot.TodoSnapshotStore;
+import com.example.todo.userapi.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+// 삭제 표시된 할 일과 탈퇴한 회원, 아무도 안 쓰는 업로드 파일을 새벽에 실제로 지우는 작업
+// chunk-size 행씩 트랜잭션을 나눠서 지움 -> 큰 트랜잭션 하나로 테이블을 오래 잠그지 않음
+@Service
+@Slf4j
+public class TodoPurgeService {
+
+    private final TodoRepository todoRepository;
+    private final TodoArchiveRepository archiveRepository;
+    private final TodoStatsRepository statsRepository;
+    private final TodoDailyStatsRepository dailyStatsRepository;
+    private final TodoSnapshotRepository snapshotRepository;
+    private final UserRepository userRepository;
+    private final StoredFileRepository storedFileRepository;
+    private final SharedListRepository listRepository;
+    private final SharedListMemberRepository memberRepository;
+    private final TodoSnapshotStore todoSnapshotStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StorageService storageService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int graceDays;
+    private final int chunkSize;
+    private final int maxChunks;
+
+    public TodoPurgeService(
+            TodoRepository todoRepository
+            , TodoArchiveRepository archiveRepository
+            , TodoStatsRepository statsRepository
+            , TodoDailyStatsRepository dailyStatsRepository
+            , TodoSnapshotRepository snapshotRepository
+            , UserRepository userRepository
+            , StoredFileRepository storedFileRepository
+            , SharedListRepository listRepository
+            , SharedListMemberRepository memberRepository
+            , TodoSnapshotStore todoSnapshotStore
+            , ApplicationEventPublisher eventPublisher
+            , StorageService storageService
+            , TransactionTemplate transactionTemplate
+            , @Value("${todo.purge.grace-days:7}") int graceDays
+            , @Value("${todo.purge.chunk-size:1000}") int chunkSize
+            , @Value("${todo.purge.max-chunks:1000}") int maxChunks) {
+        this.todoRepository = todoRepository;
+        this.archiveRepository = archiveRepository;
+        this.statsRepository = statsRepository;
+        this.dailyStatsRepository = dailyStatsRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.userRepository = userRepository;
+        this.storedFileRepository = storedFileRepository;
+        this.listRepository = listRepository;
+        this.memberRepository = memberRepository;
+        this.todoSnapshotStore = todoSnapshotStore;
+        this.eventPublisher = eventPublisher;
+        this.storageService = storageService;
+        this.transactionTemplate = transactionTemplate;
+        this.graceDays = graceDays;
+        this.chunkSize = chunkSize;
+        this.maxChunks = maxChunks;
+    }
+
+    @Scheduled(cron = "${todo.purge.cron:0 0 4 * * *}")
+    public void purge() {
+        int todos = purgeDeletedTodos();
+        int users = purgeDeletedUsers();
+        int files = purgeReleasedFiles();
+        log.info("삭제 정리 작업 끝 - 할 일 {}개, 회원 {}명, 파일 {}개", todos, users, files);
+    }
+
+    // 삭제 표시 후 grace-days 지난 할 일 실제 삭제
+    public int purgeDeletedTodos() {
+        LocalDateTime before = LocalDateTime.now().minusDays(graceDays);
+        return inChunks(() -> todoRepository.purgeDeleted(before, chunkSize));
+    }
+
+    // 탈퇴한 회원의 할 일 -> 보관 할 일 -> 통계/스냅샷/공유 목록 회원 -> 회원 순서로 삭제
+    public int purgeDeletedUsers() {
+        int purged = 0;
+        List<String> userIds = userRepository.findDeletedUserIds(chunkSize);
+        for (String userId : userIds) {
+            try {
+                inChunks(() -> todoRepository.purgeByUserId(userId, chunkSize));
+                inChunks(() -> archiveRepository.purgeByUserId(userId, chunkSize));
+                // 혼자 남은 공유 목록은 목록째 지움 -> 나간 회원들이 남긴 할 일도 같이 (아무도 못 보는 할 일)
+                for (String listId : listRepository.findListIdsByOwnerId(userId)) {
+                    if (memberRepository.findUserIdsByListId(listId).equals(List.of(userId))) {
+                        inChunks(() -> todoRepository.purgeByListId(listId, chunkSize));
+                    }
+                }
+                transactionTemplate.executeWithoutResult(status -> {
+                    statsRepository.deleteByUserId(userId);
+                    dailyStatsRepository.deleteByUserId(userId);
+                    snapshotRepository.deleteByUserId(userId);
+                    leaveSharedLists(userId);
+                    String profileImg = userRepository.findProfileImgIncludingDeleted(userId);
+                    if (profileImg != null) {
+                        storedFileRepository.release(profileImg, LocalDateTime.now());
+                    }
+                    userRepository.purge(userId);
+                });
+                purged++;
+            } catch (Exception e) {
+                // 다음 실행 때 이어서 지움
+                log.warn("탈퇴 회원 정리 실패 - user: {}, err: {}", userId, e.getMessage());
+            }
+        }
+        return purged;
+    }
+
+    // 공유 목록에서 빼고, 탈퇴 회원이 쓴 할 일이 지워졌으니 남은 회원들의 목록도 다시 만들게 함
+    // 만든 회원이면 제일 먼저 들어온 회원에게 넘김 (남은 회원이 없으면 목록 삭제)
+    private void leaveSharedLists(String userId) {
+        List<String> owned = listRepository.findListIdsByOwnerId(userId);
+        for (String listId : memberRepository.findListIdsByUserId(userId)) {
+            List<String> members = memberRepository.findUserIdsByListIdOrderByJoinedAt(listId);
+            memberRepository.deleteMember(listId, userId);
+            if (owned.contains(listId)) {
+                String successor = members.stream()
+                        .filter(member -> !member.equals(userId))
+                        .findFirst()
+                        .orElse(null);
+                if (successor == null) {
+                    listRepository.deleteById(listId);
+                } else {
+                    listRepository.changeOwner(listId, successor);
+                }
+            }
+            todoSnapshotStore.invalidateAfterCommit(members);
+            eventPublisher.publishEvent(new SharedListChangedEvent(listId, members));
+        }
+    }
+
+    // 아무도 안 쓴지 grace-days 지난 업로드 파일을 저장소에서 삭제
+    // 행을 잠근 채로 지워서, 그 사이에 같은 내용이 다시 올라오면 업로드 쪽이 기다렸다가 새로 올림
+    public int purgeReleasedFiles() {
+        int purged = 0;
+        LocalDateTime before = LocalDateTime.now().minusDays(graceDays);
+        for (String contentKey : storedFileRepository.findReleasedKeys(before, chunkSize)) {
+            try {
+                Boolean deleted = transactionTemplate.execute(status -> {
+                    String location = storedFileRepository.lockReleased(contentKey);
+                    if (location == null) {
+                        return false; // 그 사이에 다시 쓰이게 됨
+                    }
+                    try {
+                        storageService.delete(location);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    storedFileRepository.deleteById(contentKey);
+                    return true;
+                });
+                if (Boolean.TRUE.equals(deleted)) {
+                    purged++;
+                }
+            } catch (Exception e) {
+                log.warn("파일 정리 실패 - key: {}, err: {}", contentKey, e.getMessage());
+            }
+        }
+        return purged;
+    }
+
+    // 지울 게 없을 때까지 chunk 단위 트랜잭션 반복
+    private int inChunks(IntSupplier deleteChunk) {
+        int total = 0;
+        for (int i = 0; i < maxChunks; i++) {
+            Integer deleted = transactionTemplate.execute(status -> deleteChunk.getAsInt());
+            if (deleted == null || deleted == 0) {
+                break;
+            }
+            total += deleted;
+            if (deleted < chunkSize) {
+                break;
+            }
+        }
+        return total;
+    }
+}
@@ -1,22 +1,40 @@
 package com.example.todo.todoapi.service;
 
 import com.example.todo.auth.TokenUserInfo;
+import com.example.todo.cache.CacheRegions;
+import com.example.todo.cache.TwoTierCache;
+import com.example.todo.exception.SharedListNotFoundException;
+import com.example.todo.exception.TodoNotFoundException;
+import com.example.todo.exception.TodoVersionConflictException;
 import com.example.todo.todoapi.dto.request.TodoCreateRequestDTO;
+import com.example.todo.todoapi.dto.request.TodoFilterRequestDTO;
 import com.example.todo.todoapi.dto.request.TodoModifyRequestDTO;
+import com.example.todo.todoapi.dto.request.TodoScheduleRequestDTO;
 import com.example.todo.todoapi.dto.response.TodoDetailResponseDTO;
 import com.example.todo.todoapi.dto.response.TodoListResponseDTO;
 import com.example.todo.todoapi.entity.Todo;
+import com.example.todo.todoapi.event.TodoChangedEvent;
+import com.example.todo.todoapi.repository.SharedListMemberRepository;
 import com.example.todo.todoapi.repository.TodoRepository;
+import com.example.todo.todoapi.repository.TodoSpecifications;
+import com.example.todo.todoapi.snapshot.TodoSnapshotStore;
 import com.example.todo.userapi.entity.Role;
 import com.example.todo.userapi.entity.User;
 import com.example.todo.userapi.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.support.PropertyComparator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,13 +45,66 @@ public class TodoService {
 
     private final TodoRepository todoRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TodoStatsService todoStatsService;
+    private final TwoTierCache twoTierCache;
+    private final TodoSnapshotStore todoSnapshotStore;
+    private final SharedListAccess sharedListAccess;
+    private final SharedListMemberRepository sharedListMemberRepository;
+    private final TodoListVersionTracker listVersionTracker;
 
-    // 할 일 목록 조회
+    // 할 일 목록 조회 (2단 캐시 -> 없으면 DB)
+    // 캐시 키에 목록 버전을 붙임 - 버전을 먼저 읽고 DB를 읽어야 함 (TodoListVersionTracker 참고)
+    @Timed(value = "todo.service", extraTags = {"method", "retrieve"})
     public TodoListResponseDTO retrieve(String userId) {
+        return twoTierCache.get(CacheRegions.TODO_LIST, listVersionTracker.listCacheKey(userId)
+                , TodoListResponseDTO.class, () -> loadList(userId));
+    }
+
+    // 할 일 목록 json 바이트 (스냅샷 pk 조회 한번 - todo.snapshot.enabled=true 일때)
+    @Timed(value = "todo.service", extraTags = {"method", "retrieveSnapshot"})
+    public byte[] retrieveSnapshot(String userId) {
+        return todoSnapshotStore.read(userId, () -> loadList(userId));
+    }
 
-        User user = getUser(userId);
+    // DB에서 목록 읽기 - 쓰기 메서드는 커밋 전이라 캐시를 거치지 않고 이걸 씀
+    // 개인 할 일 + 속한 공유 목록 할 일을 쿼리 한번으로 (목록마다 따로 읽지 않음)
+    private TodoListResponseDTO loadList(String userId) {
 
-        List<Todo> entityList = todoRepository.findAllByUser(user);
+        List<Todo> entityList = todoRepository.findAllVisibleTo(userId);
+
+        List<TodoDetailResponseDTO> dtoList = entityList.stream()
+                .map(TodoDetailResponseDTO::new)
+                .collect(Collectors.toList());
+
+        return TodoListResponseDTO.builder()
+                .todos(dtoList)
+                .build();
+    }
+
+    /**
+     * 조건에 맞는 할 일만 DB에서 골라서 조회 (필터/정렬을 클라이언트가 아닌 SQL에서 처리)
+     *
+     * @param userId - 목록 주인
+     * @param filter - 완료여부, 등록일 범위, 정렬 조건
+     * @return - 조건에 맞는 할 일 목록
+     * @throws IllegalArgumentException - 정렬 조건이 잘못된 경우
+     */
+    @Timed(value = "todo.service", extraTags = {"method", "retrieve"})
+    public TodoListResponseDTO retrieve(String userId, TodoFilterRequestDTO filter) throws IllegalArgumentException {
+        if (filter.isUnfiltered()) {
+            return retrieve(userId);
+        }
+
+        // 개인 할 일과 공유 목록 할 일을 각각 인덱스로 골라서 정렬 순서대로 합침 (OR 한번이면 인덱스를 못 탐)
+        Sort sort = filter.toSort();
+        List<Todo> entityList = todoRepository.findAll(TodoSpecifications.matches(userId, filter), sort);
+
+        List<String> listIds = sharedListMemberRepository.findListIdsByUserId(userId);
+        if (!listIds.isEmpty()) {
+            List<Todo> shared = todoRepository.findAll(TodoSpecifications.matchesInLists(listIds, filter), sort);
+            entityList = merge(entityList, shared, comparatorOf(sort));
+        }
 
         List<TodoDetailResponseDTO> dtoList = entityList.stream()
                 .map(TodoDetailResponseDTO::new)
@@ -44,6 +115,27 @@ public class TodoService {
                 .build();
     }
 
+    // 이미 정렬된 두 목록을 순서대로 합침
+    private static List<Todo> merge(List<Todo> first, List<Todo> second, Comparator<Todo> order) {
+        List<Todo> merged = new ArrayList<>(first.size() + second.size());
+        int i = 0, j = 0;
+        while (i < first.size() && j < second.size()) {
+            merged.add(order.compare(first.get(i), second.get(j)) <= 0 ? first.get(i++) : second.get(j++));
+        }
+        merged.addAll(first.subList(i, first.size()));
+        merged.addAll(second.subList(j, second.size()));
+        return merged;
+    }
+
+    // 정렬 조건(toSort)을 메모리 비교용으로
+    private static Comparator<Todo> comparatorOf(Sort sort) {
+        Comparator<Todo> order = (a, b) -> 0;
+        for (Sort.Order o : sort) {
+            order = order.thenComparing(new PropertyComparator<>(o.getProperty(), false, o.isAscending()));
+        }
+        return order;
+    }
+
     private User getUser(String userId) {
         return userRepository.findById(userId).orElseThrow(
                 () -> new RuntimeException("회원정보가 없슈")
@@ -52,12 +144,22 @@ public class TodoService {
 
 
     // 할 일 등록
+    @Timed(value = "todo.service", extraTags = {"method", "create"})
     public TodoListResponseDTO create(
             final TodoCreateRequestDTO createRequestDTO
             , final TokenUserInfo userInfo) throws RuntimeException {
 
+        // 스냅샷을 쓰면 같은 회원의 쓰기를 줄 세움 (반드시 첫 문장)
+        todoSnapshotStore.lock(userInfo.getUserId());
+
         User foundUser = getUser(userInfo.getUserId());
 
+        // 공유 목록에 쓰려면 목록 회원이어야 함
+        String listId = createRequestDTO.getListId();
+        if (listId != null && !sharedListAccess.canAccess(foundUser.getId(), listId)) {
+            throw new SharedListNotFoundException("공유 목록이 없습니다.");
+        }
+
         // 권한에 따른 글쓰기 제한 처리
         // 일반회원은 일정 5개만 작성 가능. 초과하면 예외 발생
         if (userInfo.getRole() == Role.COMMON && todoRepository.countByUser(foundUser) >= 5) {
@@ -67,36 +169,199 @@ public class TodoService {
         Todo todo = createRequestDTO.toEntity(foundUser);
 
         todoRepository.save(todo);
-        log.info("할 일이 저장되었습니다. 제목 : {}", createRequestDTO.getTitle());
-        return retrieve(userInfo.getUserId());
+        log.debug("할 일이 저장되었습니다. 제목 : {}", createRequestDTO.getTitle());
+
+        todoStatsService.onCreated(foundUser.getId(), todo.getCreateDate());
+
+        eventPublisher.publishEvent(changed(TodoChangedEvent.Type.CREATED, foundUser.getId()
+                , new Target(foundUser.getId(), listId), todo.getTodoId(), new TodoDetailResponseDTO(todo)));
+        return loadAndSnapshot(userInfo.getUserId());
     }
 
     // 할 일 수정 (제목, 할일 완료여부)
+    /**
+     * 할 일의 완료여부를 수정 (조회 -> 세터 -> 저장 대신 조건부 UPDATE 한번)
+     *
+     * @param modifyRequestDTO - 수정할 할 일 id와 완료여부
+     * @param userId - 요청한 회원 (본인 할 일만 수정 가능)
+     * @param expectedVersion - 클라이언트가 알고있는 버전 (null이면 버전검사 안함)
+     * @return - 수정 후의 할 일 목록
+     */
+    @Timed(value = "todo.service", extraTags = {"method", "update"})
     public TodoListResponseDTO update(
             final TodoModifyRequestDTO modifyRequestDTO,
-            String userId) {
-        Optional<Todo> targetEntity = todoRepository.findById(modifyRequestDTO.getId());
+            String userId,
+            Long expectedVersion) {
+
+        todoSnapshotStore.lock(userId);
+
+        String todoId = modifyRequestDTO.getId();
+        Target target = resolveTarget(todoId, userId);
+        String ownerId = target.ownerId;
+
+        int updated = (expectedVersion == null)
+                ? todoRepository.updateDone(todoId, ownerId, modifyRequestDTO.isDone())
+                : todoRepository.updateDone(todoId, ownerId, modifyRequestDTO.isDone(), expectedVersion);
+
+        if (updated == 0) {
+            // 수정된 행이 없으면 내 할 일이 아니거나 없는 할 일이거나, 버전이 바뀌었거나, 이미 그 값인 경우
+            if (!todoRepository.existsByTodoIdAndUser_Id(todoId, ownerId)) {
+                throw new TodoNotFoundException("수정할 할 일이 없습니다.");
+            }
+            if (expectedVersion != null
+                    && !todoRepository.existsByTodoIdAndUser_IdAndVersion(todoId, ownerId, expectedVersion)) {
+                log.warn("할 일 버전 충돌 - ID: {}, 요청버전: {}", todoId, expectedVersion);
+                throw new TodoVersionConflictException("다른 곳에서 먼저 수정된 할 일입니다. 목록을 새로고침 해주세요.");
+            }
+            // 이미 요청한 값이면 바뀐게 없으니 이벤트/통계 없이 목록만 리턴
+            return retrieve(userId);
+        }
 
-        targetEntity.ifPresent(entity -> {
-            entity.setDone(modifyRequestDTO.isDone());
+        // 방금 UPDATE로 행 락을 잡고 있어서 등록일 조회와 카운터 증감이 다른 요청과 섞이지 않음
+        todoStatsService.onDoneChanged(ownerId, todoRepository.findCreateDateById(todoId), modifyRequestDTO.isDone());
 
-            todoRepository.save(entity);
-        });
+        TodoListResponseDTO responseDTO = loadAndSnapshot(userId);
 
-        return retrieve(userId);
+        responseDTO.getTodos().stream()
+                .filter(dto -> dto.getId().equals(todoId))
+                .findFirst()
+                .ifPresent(dto -> eventPublisher.publishEvent(
+                        changed(TodoChangedEvent.Type.UPDATED, userId, target, todoId, dto)));
+
+        return responseDTO;
+    }
+
+    /**
+     * 할 일의 마감/알림 시간을 수정 (완료여부 수정처럼 조건부 UPDATE 한번)
+     * 알림 엔진은 커밋 후 UPDATED 이벤트를 받아서 예약을 바꿈
+     *
+     * @param todoId - 수정할 할 일
+     * @param scheduleRequestDTO - 마감/알림 시간 (null이면 지움)
+     * @param userId - 요청한 회원 (본인 할 일만 수정 가능)
+     * @param expectedVersion - 클라이언트가 알고있는 버전 (null이면 버전검사 안함)
+     * @return - 수정 후의 할 일 목록
+     */
+    @Timed(value = "todo.service", extraTags = {"method", "schedule"})
+    public TodoListResponseDTO schedule(
+            final String todoId,
+            final TodoScheduleRequestDTO scheduleRequestDTO,
+            String userId,
+            Long expectedVersion) {
+
+        todoSnapshotStore.lock(userId);
+
+        Target target = resolveTarget(todoId, userId);
+        LocalDateTime dueAt = scheduleRequestDTO.getDueAt();
+        LocalDateTime remindAt = scheduleRequestDTO.getRemindAt();
+        int updated = (expectedVersion == null)
+                ? todoRepository.updateSchedule(todoId, target.ownerId, dueAt, remindAt)
+                : todoRepository.updateSchedule(todoId, target.ownerId, dueAt, remindAt, expectedVersion);
+
+        if (updated == 0) {
+            if (!todoRepository.existsByTodoIdAndUser_Id(todoId, target.ownerId)) {
+                throw new TodoNotFoundException("수정할 할 일이 없습니다.");
+            }
+            log.warn("할 일 버전 충돌 - ID: {}, 요청버전: {}", todoId, expectedVersion);
+            throw new TodoVersionConflictException("다른 곳에서 먼저 수정된 할 일입니다. 목록을 새로고침 해주세요.");
+        }
+
+        TodoListResponseDTO responseDTO = loadAndSnapshot(userId);
+
+        responseDTO.getTodos().stream()
+                .filter(dto -> dto.getId().equals(todoId))
+                .findFirst()
+                .ifPresent(dto -> eventPublisher.publishEvent(
+                        changed(TodoChangedEvent.Type.UPDATED, userId, target, todoId, dto)));
+
+        return responseDTO;
+    }
+
+    // 네이티브 쿼리 결과 변환 (드라이버마다 타입이 다름)
+    private static boolean toBoolean(Object value) {
+        return (value instanceof Boolean) ? (Boolean) value : ((Number) value).intValue() != 0;
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value == null || value instanceof LocalDateTime) {
+            return (LocalDateTime) value;
+        }
+        return ((java.sql.Timestamp) value).toLocalDateTime();
     }
 
     // 할 일 삭제
+    @Timed(value = "todo.service", extraTags = {"method", "delete"})
     public TodoListResponseDTO delete(final String id, String userId) {
 
-        try {
-            todoRepository.deleteById(id);
-        } catch (Exception e) {
-            log.error("id가 존재하지 않아 삭제에 실패했습니다. - ID: {}, err: {}"
-                    , id, e.getMessage());
-            throw new RuntimeException("id가 존재하지 않아 삭제에 실패했습니다.");
+        todoSnapshotStore.lock(userId);
+
+        // 본인(공유 목록이면 목록 회원) 할 일에 삭제 표시만 하고 바로 리턴 (실제 삭제는 TodoPurgeService가 새벽에)
+        Target target = resolveTarget(id, userId);
+        if (todoRepository.softDelete(id, target.ownerId, LocalDateTime.now()) == 0) {
+            log.warn("id가 존재하지 않아 삭제에 실패했습니다. - ID: {}", id);
+            throw new TodoNotFoundException("id가 존재하지 않아 삭제에 실패했습니다.");
+        }
+
+        // 방금 UPDATE로 잠근 행이라 완료여부가 바뀔 일이 없음
+        Object[] row = todoRepository.findDoneAndCreateDateById(id).get(0);
+        todoStatsService.onDeleted(target.ownerId, toLocalDateTime(row[1]), toBoolean(row[0]));
+
+        eventPublisher.publishEvent(changed(TodoChangedEvent.Type.DELETED, userId, target, id, null));
+        return loadAndSnapshot(userId);
+    }
+
+    // 쓰기 후 목록을 다시 읽어서 스냅샷도 같은 트랜잭션에서 교체
+    private TodoListResponseDTO loadAndSnapshot(String userId) {
+        TodoListResponseDTO list = loadList(userId);
+        todoSnapshotStore.write(userId, list);
+        return list;
+    }
+
+    // 수정/삭제할 할 일의 작성자와 공유 목록
+    private static class Target {
+        private final String ownerId; // 조건부 UPDATE의 소유자 조건에 넣을 id
+        private final String listId;
+
+        Target(String ownerId, String listId) {
+            this.ownerId = ownerId;
+            this.listId = listId;
+        }
+    }
+
+    /**
+     * 공유 목록 할 일이고 요청한 회원이 목록 회원이면 작성자 id로 바꿔서 기존 조건부 UPDATE를 그대로 씀
+     * 개인 할 일이나 없는 할 일은 요청한 회원 id 그대로 -> 남의 할 일이면 0건이라 404
+     *
+     * @throws TodoNotFoundException - 공유 목록 할 일인데 목록 회원이 아닌 경우 (내보내진 작성자 포함)
+     */
+    private Target resolveTarget(String todoId, String userId) {
+        List<Object[]> rows = todoRepository.findOwnerAndListById(todoId);
+        if (rows.isEmpty()) {
+            return new Target(userId, null);
+        }
+        String ownerId = (String) rows.get(0)[0];
+        String listId = (String) rows.get(0)[1];
+        if (listId == null) {
+            return new Target(userId, null);
+        }
+        // 작성자라도 목록에서 나가면 목록에 안 보이니까 수정/삭제도 못함
+        // (작성자 id로 통과시키면 listId 없는 이벤트가 나가서 남은 회원들 캐시가 안 지워짐)
+        if (!sharedListAccess.canAccess(userId, listId)) {
+            throw new TodoNotFoundException("할 일이 없습니다.");
+        }
+        return new Target(ownerId, listId);
+    }
+
+    // 변경 이벤트 - 받을 회원(공유 목록이면 목록 회원 전부)은 여기서 한번만 구함
+    // 요청한 회원의 스냅샷은 loadAndSnapshot 에서 바꾸니까 나머지 회원 것만 커밋 후 무효화
+    private TodoChangedEvent changed(TodoChangedEvent.Type type, String userId, Target target
+            , String todoId, TodoDetailResponseDTO dto) {
+        Collection<String> recipients = sharedListAccess.recipientsOf(target.ownerId, target.listId);
+        if (target.listId != null) {
+            todoSnapshotStore.invalidateAfterCommit(recipients.stream()
+                    .filter(recipient -> !recipient.equals(userId))
+                    .collect(Collectors.toList()));
         }
-        return retrieve(userId);
+        return new TodoChangedEvent(type, target.ownerId, todoId, dto, target.listId, recipients);
     }
 
 
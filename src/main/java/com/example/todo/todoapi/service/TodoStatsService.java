@@ -0,0 +1,149 @@
+package com.example.todo.todoapi.service;
+
+import com.example.todo.todoapi.dto.response.TodoDailyStatsResponseDTO;
+import com.example.todo.todoapi.dto.response.TodoStatsResponseDTO;
+import com.example.todo.todoapi.entity.TodoStats;
+import com.example.todo.todoapi.repository.TodoArchiveRepository;
+import com.example.todo.todoapi.repository.TodoDailyStatsRepository;
+import com.example.todo.todoapi.repository.TodoRepository;
+import com.example.todo.todoapi.repository.TodoStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+// 할 일 통계 카운터 관리
+// 등록/수정/삭제 트랜잭션 안에서 카운터만 +-1 하니까 통계 조회는 할 일 개수와 상관없이 행 몇개만 읽음
+// 전체 스캔은 카운터가 어긋났을 때 맞춰주는 재집계 작업에서만 함
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@Transactional
+public class TodoStatsService {
+
+    private final TodoStatsRepository statsRepository;
+    private final TodoDailyStatsRepository dailyStatsRepository;
+    private final TodoRepository todoRepository;
+    private final TodoArchiveRepository archiveRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // 할 일 등록됨
+    public void onCreated(String userId, LocalDateTime createDate) {
+        add(userId, createDate, 1, 0);
+    }
+
+    // 완료여부가 실제로 바뀜
+    public void onDoneChanged(String userId, LocalDateTime createDate, boolean done) {
+        add(userId, createDate, 0, done ? 1 : -1);
+    }
+
+    // 할 일 삭제됨
+    public void onDeleted(String userId, LocalDateTime createDate, boolean wasDone) {
+        add(userId, createDate, -1, wasDone ? -1 : 0);
+    }
+
+    // 완료한 할 일 count개가 보관 테이블로 옮겨짐 (현재 목록 기준 카운터에서만 빠지고 일별 기록은 남김)
+    public void onArchived(String userId, long count) {
+        statsRepository.add(userId, -count, -count);
+    }
+
+    private void add(String userId, LocalDateTime createDate, long total, long done) {
+        // 집계 행이 없는 회원은 건너뜀 (처음 조회할 때 전체 집계로 만들어짐)
+        if (statsRepository.add(userId, total, done) == 0) {
+            return;
+        }
+        LocalDate day = (createDate == null) ? LocalDate.now() : createDate.toLocalDate();
+        dailyStatsRepository.add(userId, day, total, done);
+    }
+
+    /**
+     * 회원의 할 일 통계 조회
+     *
+     * @param userId - 회원
+     * @param days - 최근 며칠치 일별 통계를 줄지
+     * @return - 전체/완료/미완료 개수와 일별 통계
+     */
+    public TodoStatsResponseDTO getStats(String userId, int days) {
+
+        TodoStats stats = statsRepository.findById(userId)
+                .orElseGet(() -> reconcile(userId));
+
+        List<TodoDailyStatsResponseDTO> daily = dailyStatsRepository
+                .findByUserIdAndStatDateGreaterThanEqualOrderByStatDate(userId, LocalDate.now().minusDays(days - 1))
+                .stream()
+                .map(TodoDailyStatsResponseDTO::new)
+                .collect(Collectors.toList());
+
+        return TodoStatsResponseDTO.builder()
+                .total(stats.getTotal())
+                .done(stats.getDone())
+                .pending(stats.getTotal() - stats.getDone())
+                .daily(daily)
+                .build();
+    }
+
+    /**
+     * 회원의 할 일을 전부 세서 카운터를 다시 맞춤 (전체 스캔)
+     * 카운터를 먼저 INSERT ... SELECT 로 만들어야 함 - 그 문장이 건 잠금 때문에 트랜잭션이 끝날 때까지
+     * 이 회원의 할 일 쓰기가 기다림 -> 아래 일별 기록을 지우고 다시 넣는 동안에도 증감이 섞이지 않음
+     */
+    public TodoStats reconcile(String userId) {
+
+        statsRepository.recount(userId);
+        TodoStats stats = statsRepository.findById(userId)
+                .orElseThrow(() -> new IllegalStateException("통계 집계 실패 - user: " + userId));
+
+        // 일별 기록은 보관된 할 일까지 합쳐서 계산
+        Map<LocalDate, long[]> daily = new TreeMap<>();
+        List<Object[]> rows = new ArrayList<>(todoRepository.countDailyByUserId(userId));
+        rows.addAll(archiveRepository.countDailyByUserId(userId));
+        for (Object[] row : rows) {
+            long[] counts = daily.computeIfAbsent(toLocalDate(row[0]), k -> new long[2]);
+            counts[0] += ((Number) row[1]).longValue();
+            counts[1] += (row[2] == null) ? 0 : ((Number) row[2]).longValue();
+        }
+
+        dailyStatsRepository.deleteByUserId(userId);
+        daily.forEach((day, counts) -> dailyStatsRepository.put(userId, day, counts[0], counts[1]));
+        return stats;
+    }
+
+    // 새벽에 카운터가 있는 회원들을 한명씩 (각각 별도 트랜잭션으로) 재집계
+    @Scheduled(cron = "${todo.stats.reconcile-cron:0 30 4 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void reconcileAll() {
+        List<String> userIds = statsRepository.findAll().stream()
+                .map(TodoStats::getUserId)
+                .collect(Collectors.toList());
+
+        for (String userId : userIds) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> reconcile(userId));
+            } catch (Exception e) {
+                log.warn("통계 재집계 실패 - user: {}, err: {}", userId, e.getMessage());
+            }
+        }
+        log.info("할 일 통계 재집계 완료 - {}명", userIds.size());
+    }
+
+    private LocalDate toLocalDate(Object value) {
+        if (value instanceof LocalDate) {
+            return (LocalDate) value;
+        }
+        if (value instanceof java.sql.Date) {
+            return ((java.sql.Date) value).toLocalDate();
+        }
+        return new java.sql.Date(((java.util.Date) value).getTime()).toLocalDate();
+    }
+}
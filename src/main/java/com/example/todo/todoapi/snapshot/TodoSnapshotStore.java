@@ -0,0 +1,134 @@
+package com.example.todo.todoapi.snapshot;
+
+import com.example.todo.todoapi.dto.response.TodoListResponseDTO;
+import com.example.todo.todoapi.repository.TodoSnapshotRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+// 회원별 할 일 목록 스냅샷 (tbl_todo_snapshot) - todo.snapshot.enabled=true 일때만 동작
+// - 쓰기(등록/수정/삭제)는 트랜잭션 처음에 lock, 끝에서 write -> 같은 트랜잭션으로 목록과 스냅샷이 같이 커밋됨
+// - 조회는 pk 한번으로 json 바이트를 읽어서 그대로 응답 (없으면 DB에서 만들어서 저장)
+// - 보관 작업처럼 목록을 밖에서 바꾸면 invalidateAfterCommit -> 다음 조회 때 다시 만듦
+@Component
+@Slf4j
+public class TodoSnapshotStore {
+
+    private final TodoSnapshotRepository snapshotRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+
+    public TodoSnapshotStore(
+            TodoSnapshotRepository snapshotRepository
+            , ObjectMapper objectMapper
+            , PlatformTransactionManager transactionManager
+            , MeterRegistry meterRegistry
+            , @Value("${todo.snapshot.enabled:false}") boolean enabled) {
+        this.snapshotRepository = snapshotRepository;
+        this.objectMapper = objectMapper;
+        // afterCommit 에서는 끝난 트랜잭션에 끼어들지 않도록 새 트랜잭션으로
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 쓰기 트랜잭션의 *첫 문장*으로 호출 - 스냅샷 행을 잠가서 같은 회원의 쓰기를 한 줄로 세움
+     * (잠그기 전에 목록을 읽으면 먼저 커밋된 쓰기를 못 보고 옛날 목록으로 덮어쓸 수 있음)
+     */
+    public void lock(String userId) {
+        if (enabled) {
+            snapshotRepository.lock(userId, LocalDateTime.now());
+        }
+    }
+
+    // 쓰기 트랜잭션 끝에서 방금 읽은 목록으로 교체 (응답으로 나갈 목록을 그대로 씀)
+    public void write(String userId, TodoListResponseDTO list) {
+        if (enabled) {
+            snapshotRepository.replace(userId, serialize(list), LocalDateTime.now());
+        }
+    }
+
+    /**
+     * 목록 json 바이트 조회 (트랜잭션 안에서 호출)
+     *
+     * @param userId - 목록 주인
+     * @param loader - 스냅샷이 없을 때 DB에서 목록을 읽는 함수
+     * @return - TodoListResponseDTO 의 json
+     */
+    public byte[] read(String userId, Supplier<TodoListResponseDTO> loader) {
+        byte[] payload = snapshotRepository.findPayload(userId);
+        if (payload != null) {
+            meterRegistry.counter("todo.snapshot.reads", "result", "hit").increment();
+            return payload;
+        }
+        meterRegistry.counter("todo.snapshot.reads", "result", "rebuilt").increment();
+
+        // 버전을 목록보다 먼저 읽어야, 목록을 읽는 사이에 끼어든 쓰기를 알아챔
+        Long version = snapshotRepository.findVersion(userId);
+        byte[] rebuilt = serialize(loader.get());
+        LocalDateTime now = LocalDateTime.now();
+        if (version == null) {
+            snapshotRepository.insertIfAbsent(userId, rebuilt, now);
+        } else {
+            snapshotRepository.fillIfUnchanged(userId, rebuilt, version, now);
+        }
+        return rebuilt;
+    }
+
+    // 커밋 후에 따로 무효화 (목록 행들을 잠근 트랜잭션에서 스냅샷 행까지 잠그면 쓰기와 순서가 반대라 데드락 위험)
+    public void invalidateAfterCommit(Collection<String> userIds) {
+        if (!enabled || userIds.isEmpty()) {
+            return;
+        }
+        List<String> targets = new ArrayList<>(userIds);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(targets);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(targets);
+            }
+        });
+    }
+
+    private void invalidate(List<String> userIds) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> userIds.forEach(snapshotRepository::invalidate));
+        } catch (Exception e) {
+            // 못 지우면 다음 쓰기 때까지 보관된 할 일이 목록에 남음
+            log.warn("할 일 스냅샷 무효화 실패 - {}명, err: {}", userIds.size(), e.getMessage());
+        }
+    }
+
+    private byte[] serialize(TodoListResponseDTO list) {
+        try {
+            return objectMapper.writeValueAsBytes(list);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("할 일 목록 직렬화 실패", e);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.todo.todoapi.stream;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+// 회원별로 최근 이벤트를 capacity 개까지만 들고 있는 버퍼
+// 재연결한 클라이언트가 놓친 이벤트만 다시 받을 수 있게 해줌 (전체 목록 재조회 X)
+public class TodoEventReplayBuffer {
+
+    private final int capacity;
+    private final ArrayDeque<TodoStreamEvent> events;
+    private long evictedUpTo; // 버퍼에서 밀려난 마지막 이벤트 순번
+
+    public TodoEventReplayBuffer(int capacity) {
+        this(capacity, 0);
+    }
+
+    /**
+     * @param startSequence - 버퍼를 만든 시점의 순번 (그 전 이벤트는 이 버퍼에 없으니 이어받을 수 없음)
+     */
+    public TodoEventReplayBuffer(int capacity, long startSequence) {
+        this.capacity = capacity;
+        this.events = new ArrayDeque<>(capacity);
+        this.evictedUpTo = startSequence;
+    }
+
+    public synchronized void add(TodoStreamEvent event) {
+        if (events.size() == capacity) {
+            evictedUpTo = events.pollFirst().getSequence();
+        }
+        events.addLast(event);
+    }
+
+    /**
+     * lastSequence 이후에 발생한 이벤트들을 리턴
+     *
+     * @param lastSequence - 클라이언트가 마지막으로 받은 이벤트 순번
+     * @return - 놓친 이벤트 목록, 이미 버퍼에서 밀려난 구간이 있으면 null (전체 목록을 다시 받아야 함)
+     */
+    public synchronized List<TodoStreamEvent> since(long lastSequence) {
+        if (lastSequence < evictedUpTo) {
+            return null;
+        }
+        List<TodoStreamEvent> missed = new ArrayList<>();
+        for (TodoStreamEvent event : events) {
+            if (event.getSequence() > lastSequence) {
+                missed.add(event);
+            }
+        }
+        return missed;
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.example.todo.todoapi.stream;
+
+import lombok.*;
+
+// SSE로 클라이언트에게 흘려보낼 이벤트 한 건
+@Getter
+@ToString
+@AllArgsConstructor
+public class TodoStreamEvent {
+
+    private final String id; // Last-Event-ID로 돌아오는 값 ("서버에폭-순번")
+    private final long sequence; // 순번 (재연결시 이 번호 이후의 이벤트를 다시 보냄)
+    private final String name; // 이벤트 이름 (created, updated, deleted)
+    private final Object data; // json으로 직렬화될 내용
+
+}
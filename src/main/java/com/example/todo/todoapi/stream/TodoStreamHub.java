@@ -0,0 +1,294 @@
+package com.example.todo.todoapi.stream;
+
+import com.example.todo.todoapi.event.TodoChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 할 일 변경사항을 SSE로 회원의 모든 탭/기기에 밀어주는 객체 (클라이언트 폴링 대체)
+// - 구독자마다 작은 큐를 두고 별도 스레드에서 보냄 -> 느린 클라이언트가 요청 스레드나 다른 구독자를 막지 않음
+// - 큐가 꽉 차면 그 구독자는 끊어버림 -> 클라이언트가 Last-Event-ID로 재연결해서 놓친 것만 다시 받음
+// - 힙은 연결 수만큼만 씀: 구독자가 없는 회원은 맵에서 빼고, 재연결 버퍼는 replay-ttl 동안 안 쓰이면 버림
+@Component
+@Slf4j
+public class TodoStreamHub {
+
+    // 큐에 넣어두는 하트비트 표시용 객체
+    private static final TodoStreamEvent HEARTBEAT = new TodoStreamEvent(null, -1, null, null);
+
+    private final long timeoutMs;
+    private final int queueCapacity;
+    private final int maxSubscribers;
+    private final int maxSubscribersPerUser;
+    private final int replayCapacity;
+
+    // 서버가 뜰 때마다 바뀌는 값 - 재시작 전의 Last-Event-ID는 이어받을 수 없음
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final ConcurrentHashMap<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Cache<String, TodoEventReplayBuffer> buffers;
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private final ExecutorService sender;
+
+    public TodoStreamHub(
+            @Value("${todo.stream.timeout-ms:1800000}") long timeoutMs
+            , @Value("${todo.stream.queue-capacity:64}") int queueCapacity
+            , @Value("${todo.stream.max-subscribers:10000}") int maxSubscribers
+            , @Value("${todo.stream.max-subscribers-per-user:10}") int maxSubscribersPerUser
+            , @Value("${todo.stream.replay-capacity:100}") int replayCapacity
+            , @Value("${todo.stream.replay-ttl-ms:600000}") long replayTtlMs
+            , @Value("${todo.stream.replay-max-users:50000}") long replayMaxUsers
+            , @Value("${todo.stream.sender-threads:4}") int senderThreads) {
+        this.timeoutMs = timeoutMs;
+        this.queueCapacity = queueCapacity;
+        this.maxSubscribers = maxSubscribers;
+        this.maxSubscribersPerUser = maxSubscribersPerUser;
+        this.replayCapacity = replayCapacity;
+        // 구독중인 회원의 버퍼는 하트비트가 건드려서 살아있음 -> 버려지는 건 연결이 끊기고 ttl이 지난 회원 것
+        this.buffers = Caffeine.newBuilder()
+                .maximumSize(replayMaxUsers)
+                .expireAfterAccess(Duration.ofMillis(replayTtlMs))
+                .build();
+
+        AtomicInteger threadNo = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(senderThreads, r -> {
+            Thread t = new Thread(r, "todo-sse-" + threadNo.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * 회원의 변경 스트림을 구독
+     *
+     * @param userId - 구독하는 회원
+     * @param lastEventId - 재연결시 브라우저가 보내는 마지막 이벤트 id (처음 연결이면 null)
+     * @return - 컨트롤러에서 그대로 리턴할 emitter
+     * @throws IllegalStateException - 구독자 수 제한을 넘은 경우
+     */
+    public SseEmitter subscribe(String userId, String lastEventId) throws IllegalStateException {
+
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new IllegalStateException("서버의 스트림 구독자가 가득 찼습니다.");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(userId, emitter);
+
+        // 등록과 놓친 이벤트 계산을 버퍼 락 안에서 해야 이벤트가 빠지거나 두번 가지 않음
+        TodoEventReplayBuffer buffer = bufferOf(userId);
+        synchronized (buffer) {
+            try {
+                // 회원별 개수 검사와 등록을 한번에 (따로 하면 동시에 들어온 요청들이 한도를 넘김)
+                subscribers.compute(userId, (k, userSubscribers) -> {
+                    if (userSubscribers == null) {
+                        userSubscribers = ConcurrentHashMap.newKeySet();
+                    }
+                    if (userSubscribers.size() >= maxSubscribersPerUser) {
+                        throw new IllegalStateException("동시에 열 수 있는 스트림 개수를 초과했습니다.");
+                    }
+                    userSubscribers.add(subscriber);
+                    return userSubscribers;
+                });
+            } catch (IllegalStateException e) {
+                subscriberCount.decrementAndGet();
+                throw e;
+            }
+
+            List<TodoStreamEvent> missed = replayFor(buffer, lastEventId);
+            if (missed == null) {
+                // 이어받을 수 없으니 목록을 새로 받으라고 알려줌
+                subscriber.enqueue(new TodoStreamEvent(currentId(), sequence.get(), "reload", "reload"));
+            } else {
+                missed.forEach(subscriber::enqueue);
+            }
+        }
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        log.debug("SSE 구독 - user: {}, 전체 구독자: {}", userId, subscriberCount.get());
+        return emitter;
+    }
+
+    // 트랜잭션 커밋 후에만 밀어줌 (롤백된 변경은 나가지 않음)
+    // 공유 목록 할 일이면 목록 회원 모두에게
+    @TransactionalEventListener
+    public void onTodoChanged(TodoChangedEvent event) {
+        String name = event.getType().name().toLowerCase();
+        event.getRecipients().forEach(userId -> publish(userId, name, event));
+    }
+
+    /**
+     * 회원의 모든 구독자에게 이벤트를 보내고 재연결용 버퍼에 쌓음
+     * 연결도 버퍼도 없는 회원(최근에 구독한 적 없음)은 쌓지 않음 - 처음 연결하면 목록부터 받으니까
+     */
+    public void publish(String userId, String name, Object data) {
+        TodoEventReplayBuffer buffer = buffers.getIfPresent(userId);
+        if (buffer == null) {
+            if (!subscribers.containsKey(userId)) {
+                return;
+            }
+            buffer = bufferOf(userId);
+        }
+        synchronized (buffer) {
+            long seq = sequence.incrementAndGet();
+            TodoStreamEvent streamEvent = new TodoStreamEvent(epoch + "-" + seq, seq, name, data);
+            buffer.add(streamEvent);
+
+            for (Subscriber subscriber : subscribers.getOrDefault(userId, Collections.emptySet())) {
+                subscriber.enqueue(streamEvent);
+            }
+        }
+    }
+
+    // 프록시나 로드밸런서가 조용한 연결을 끊지 않도록 주기적으로 주석 한 줄 보내기
+    @Scheduled(fixedDelayString = "${todo.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        subscribers.forEach((userId, set) -> {
+            buffers.getIfPresent(userId); // 구독중인 회원의 재연결 버퍼는 만료되지 않게
+            set.forEach(Subscriber::heartbeat);
+        });
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(set -> set.forEach(s -> s.emitter.complete()));
+        sender.shutdownNow();
+    }
+
+    private List<TodoStreamEvent> replayFor(TodoEventReplayBuffer buffer, String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return Collections.emptyList(); // 처음 연결 - 클라이언트가 목록을 이미 받았다고 봄
+        }
+        int dash = lastEventId.lastIndexOf('-');
+        if (dash < 0 || !lastEventId.substring(0, dash).equals(epoch)) {
+            return null; // 재시작 전 서버의 이벤트 id
+        }
+        try {
+            return buffer.since(Long.parseLong(lastEventId.substring(dash + 1)));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private String currentId() {
+        return epoch + "-" + sequence.get();
+    }
+
+    // 만료돼서 새로 만든 버퍼는 지금 순번부터 - 그 전 id로 재연결하면 reload
+    private TodoEventReplayBuffer bufferOf(String userId) {
+        return buffers.get(userId, k -> new TodoEventReplayBuffer(replayCapacity, sequence.get()));
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        // 마지막 연결이 끊기면 회원 항목도 뺌
+        subscribers.computeIfPresent(subscriber.userId, (k, userSubscribers) -> {
+            userSubscribers.remove(subscriber);
+            return userSubscribers.isEmpty() ? null : userSubscribers;
+        });
+    }
+
+    // 구독자 한명 (연결 하나)
+    private class Subscriber {
+
+        private final String userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<TodoStreamEvent> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(String userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        void enqueue(TodoStreamEvent event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                // 못따라오는 클라이언트 - 끊고 재연결하게 함 (재연결하면 버퍼에서 이어받음)
+                log.warn("SSE 구독자 큐가 가득차서 연결을 끊습니다 - user: {}", userId);
+                remove(this);
+                emitter.complete();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        void heartbeat() {
+            if (queue.isEmpty()) {
+                enqueue(HEARTBEAT);
+            }
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        // 한 구독자에게는 항상 한 스레드만 보내도록 draining 플래그로 막음
+        private void drain() {
+            try {
+                TodoStreamEvent event;
+                while (!closed.get() && (event = queue.poll()) != null) {
+                    if (event == HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("ping"));
+                    } else {
+                        emitter.send(SseEmitter.event()
+                                .id(event.getId())
+                                .name(event.getName())
+                                .data(event.getData(), MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (Exception e) {
+                // 클라이언트가 떠난 경우
+                log.debug("SSE 전송 실패 - user: {}, err: {}", userId, e.getMessage());
+                remove(this);
+                emitter.completeWithError(e);
+            } finally {
+                draining.set(false);
+            }
+            // 빠져나오는 사이에 들어온 이벤트가 있으면 다시 예약
+            if (!closed.get() && !queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.example.todo.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Proxy;
+
+// 서비스, 레포지토리(JPA), S3, 비밀번호 암호화(BCrypt) 호출마다 자식 span을 만드는 aspect
+// 회원가입이 느릴때 BCrypt인지 existsByEmail인지 S3인지 insert인지 span 길이로 바로 보임
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class TracingAspect {
+
+    private final Tracer tracer;
+
+    @Around("execution(public * com.example.todo..service.*Service.*(..))")
+    public Object traceService(ProceedingJoinPoint pjp) throws Throwable {
+        return trace(pjp, SpanKind.INTERNAL, null);
+    }
+
+    // 스프링 데이터 레포지토리는 프록시라서 상속받은 메서드(save, findById)까지 잡으려면 target으로 걸어야 함
+    @Around("target(org.springframework.data.repository.Repository)")
+    public Object traceRepository(ProceedingJoinPoint pjp) throws Throwable {
+        return trace(pjp, SpanKind.CLIENT, "mariadb");
+    }
+
+    @Around("execution(public * com.example.todo.aws..*(..))")
+    public Object traceS3(ProceedingJoinPoint pjp) throws Throwable {
+        return trace(pjp, SpanKind.CLIENT, "s3");
+    }
+
+    @Around("execution(* org.springframework.security.crypto.password.PasswordEncoder+.*(..))")
+    public Object tracePasswordEncoder(ProceedingJoinPoint pjp) throws Throwable {
+        return trace(pjp, SpanKind.INTERNAL, null);
+    }
+
+    private Object trace(ProceedingJoinPoint pjp, SpanKind kind, String system) throws Throwable {
+        Span span = tracer.spanBuilder(spanName(pjp))
+                .setSpanKind(kind)
+                .startSpan();
+        if (system != null) {
+            span.setAttribute("peer.service", system);
+        }
+
+        try (Scope scope = span.makeCurrent()) {
+            return pjp.proceed();
+        } catch (Throwable e) {
+            span.recordException(e);
+            span.setStatus(StatusCode.ERROR);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    // TodoService.retrieve, TodoRepository.findAllByUser 같은 이름 만들기
+    private String spanName(ProceedingJoinPoint pjp) {
+        Class<?> type = pjp.getTarget().getClass();
+        if (Proxy.isProxyClass(type)) {
+            // 레포지토리 프록시면 우리가 만든 인터페이스 이름 사용
+            for (Class<?> ifc : type.getInterfaces()) {
+                if (ifc.getName().startsWith("com.example.todo")) {
+                    type = ifc;
+                    break;
+                }
+            }
+        } else {
+            type = AopProxyUtils.ultimateTargetClass(pjp.getTarget());
+        }
+        return type.getSimpleName() + "." + pjp.getSignature().getName();
+    }
+}
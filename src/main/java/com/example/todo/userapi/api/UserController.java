@@ -3,6 +3,8 @@ package com.example.todo.userapi.api;
 import com.example.todo.auth.TokenUserInfo;
 import com.example.todo.exception.DuplcatedEmailException;
 import com.example.todo.exception.NoRegisteredArgumentsException;
+import com.example.todo.idempotency.IdempotencyStore;
+import com.example.todo.storage.StorageService;
 import com.example.todo.userapi.dto.request.LoginRequestDTO;
 import com.example.todo.userapi.dto.request.UserRequestSignUpDTO;
 import com.example.todo.userapi.dto.response.LoginResponseDTO;
@@ -10,18 +12,19 @@ import com.example.todo.userapi.dto.response.UserSignUpResponseDTO;
 import com.example.todo.userapi.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.util.FileCopyUtils;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
 
 @RestController
@@ -31,6 +34,8 @@ import java.io.IOException;
 public class UserController {
 
     private final UserService userService;
+    private final IdempotencyStore idempotencyStore;
+    private final StorageService storageService;
 
 
     // 이메일 중복확인 요청처리
@@ -42,7 +47,7 @@ public class UserController {
                     .body("이메일이 없습니다!!!!!!!!");
         }
         boolean resultFlag = userService.isDuplicate(email);
-        log.info("{} 중복인강?????? -{}", email, resultFlag);
+        log.debug("{} 중복인강?????? -{}", email, resultFlag);
 
         return ResponseEntity.ok().body(resultFlag);
     }
@@ -50,28 +55,31 @@ public class UserController {
 
     // 회원가입 요청처리
     // POST: /api/auth
+    // Idempotency-Key 헤더가 있으면 재전송된 가입요청은 업로드/암호화 없이 처음 응답을 돌려줌
     @PostMapping()
     public ResponseEntity<?> signUp(
             @Validated @RequestPart("user") UserRequestSignUpDTO dto
             , @RequestPart(value = "profileImage", required = false) MultipartFile profileImg
-            , BindingResult result) {
-        log.info("/api/auth POST! - {}", dto);
+            , BindingResult result
+            , @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        log.info("/api/auth POST! - {}", dto.getEmail()); // dto에는 비밀번호가 들어있어서 이메일만
         if (result.hasErrors()) {
             log.warn(result.toString());
             return ResponseEntity.badRequest()
                     .body(result.getFieldError());
         }
 
-        try {
-            String uploadedFilePath = null;
-
-            if (profileImg != null) {
-                log.info("attached file name: {}", profileImg.getOriginalFilename());
-
-                uploadedFilePath = userService.uploadProfileImage(profileImg);
+        // 가입한 이메일만 저장해두고 재시도 때 회원정보로 응답을 다시 만듦
+        return idempotencyStore.execute("signup", idempotencyKey, dto.getEmail()
+                , () -> register(dto, profileImg)
+                , body -> ((UserSignUpResponseDTO) body).getEmail()
+                , userService::getSignUpResult);
+    }
 
-            }
-            UserSignUpResponseDTO responseDTO = userService.create(dto, uploadedFilePath);
+    private ResponseEntity<?> register(UserRequestSignUpDTO dto, MultipartFile profileImg) {
+        try {
+            // 프로필 사진은 임시파일로만 저장하고 S3 업로드는 백그라운드에서 (가입 응답이 S3를 기다리지 않음)
+            UserSignUpResponseDTO responseDTO = userService.create(dto, profileImg);
             return ResponseEntity.ok().body(responseDTO);
 //            return null;
         } catch (NoRegisteredArgumentsException e) {
@@ -81,14 +89,11 @@ public class UserController {
             log.warn("이메일 중복입니다!!!!!!!!!!!!!!!");
             return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
-            log.warn("기타 예외(파일업로드에러)가 발생했습니다! ㅠㅠ");
-            e.printStackTrace();
+            log.error("기타 예외(파일업로드에러)가 발생했습니다! ㅠㅠ", e);
             return ResponseEntity.internalServerError().build();
         }
 
         // 415에러는 전송데이터 타입이 안맞아서 그런거임! (Network -> Fetch/XHR 보기)
-
-
     }
 
     // 로그인 요청 처리
@@ -99,7 +104,7 @@ public class UserController {
             LoginResponseDTO responseDTO = userService.authenticate(dto);
             return ResponseEntity.ok().body(responseDTO);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.warn("로그인 실패 - {}", e.getMessage());
             return ResponseEntity.badRequest().body(e.getMessage());
         }
 
@@ -119,7 +124,6 @@ public class UserController {
             // 권한바꾸기 (localStorage변경 -> jwt 토큰 재생성해서 다시 줘야함 -> 토큰들어있는 DTO로 리턴받아야함)
             return ResponseEntity.ok().body(responseDTO);
         } catch (IllegalStateException e) {
-            e.printStackTrace();
             log.warn(e.getMessage());
             return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
@@ -128,28 +132,61 @@ public class UserController {
     }
 
 
+    // 로그아웃 요청 처리 (지금 쓰는 토큰 폐기)
+    // POST: /api/auth/logout
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@AuthenticationPrincipal TokenUserInfo userInfo) {
+        log.info("/api/auth/logout POST! - user {}", userInfo.getEmail());
+        userService.logout(userInfo);
+        return ResponseEntity.noContent().build();
+    }
+
+
+    // 회원 탈퇴 요청 처리
+    // DELETE: /api/auth
+    @DeleteMapping
+    public ResponseEntity<?> withdraw(@AuthenticationPrincipal TokenUserInfo userInfo) {
+        log.info("/api/auth DELETE! - user {}", userInfo.getEmail());
+
+        try {
+            userService.delete(userInfo);
+            return ResponseEntity.noContent().build();
+        } catch (NoRegisteredArgumentsException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+
     // 프로필 사진 이미지 데이터를 클라이언트에게 응답처리
     @GetMapping("/load-profile")
     public ResponseEntity<?> loadFile(
-            @AuthenticationPrincipal TokenUserInfo userInfo) {
-        log.info("/api/auth/load-profile GET! - user {}", userInfo.getEmail());
+            @AuthenticationPrincipal TokenUserInfo userInfo
+            , WebRequest webRequest) {
+        log.debug("/api/auth/load-profile GET! - user {}", userInfo.getEmail());
 
         try {
             // 클라이언트가 요청한 프로필 사진 응답해야함
             // 1. 프로필 사진의 경로를 얻어야 함 (디비에서 찾기)
             String filePath = userService.getProfilePath(userInfo.getUserId());
+            if (filePath == null) {
+                // 사진이 없거나 아직 업로드 중
+                return ResponseEntity.notFound().build();
+            }
+
+            // 파일명이 내용 해시라서 그대로 ETag로 씀 -> 사진이 안 바뀌었으면 저장소에 가지 않고 304
+            String eTag = "\"" + filePath.substring(filePath.lastIndexOf('/') + 1) + "\"";
+            if (webRequest.checkNotModified(eTag)) {
+                return null;
+            }
 
-            // 2. 얻어낸 파일 경로를 통해서 실제파일 가져오기 (파일데이터 로드하기)
-            // 파일객체로 포장하기
-            File profileFile = new File(filePath);
+            // 2. 얻어낸 경로로 저장소(S3/로컬)에서 파일 가져오기
+            // 바이트배열로 다 읽지 않고 Resource로 넘기면 응답에 쓰면서 조금씩 읽음
+            Resource profileFile = storageService.load(filePath);
 
-            if (!profileFile.exists()) {
+            if (profileFile == null) {
                 return ResponseEntity.notFound().build();
             }
 
-            // 해당 경로에 저장된 파일를 바이트배열로 직렬화해서 리턴해주는 기능 (여러개면 모아서 리스트로 줘야함...! 아니면 이런 요청을 여러번 보내거나..)
-            byte[] fileData = FileCopyUtils.copyToByteArray(profileFile);
-
             // 3. 응답헤서에 컨텐츠 타입을 성정
             HttpHeaders headers = new HttpHeaders();
             MediaType contentType = findExtensionAndGetMediaType(filePath);
@@ -163,10 +200,12 @@ public class UserController {
 
             return ResponseEntity.ok()
                     .headers(headers)
-                    .body(fileData);
+                    .eTag(eTag)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(profileFile);
 
         } catch (IOException e) {
-            e.printStackTrace();
+            log.error("프로필 사진 로딩 실패 - user: {}", userInfo.getUserId(), e);
             return ResponseEntity.internalServerError()
                     .body("파일을 찾을 수 없슘둥..");
 
@@ -196,13 +235,13 @@ public class UserController {
     // s3에서 불러온 프로필 사진 처리
     @GetMapping("/load-s3")
     public ResponseEntity<?> loadS3(@AuthenticationPrincipal TokenUserInfo userInfo) {
-        log.info("/api/auth/load-s3 GET - user: {}", userInfo);
+        log.debug("/api/auth/load-s3 GET - user: {}", userInfo.getUserId());
 
         try {
             String profilePath = userService.getProfilePath(userInfo.getUserId());
             return ResponseEntity.ok().body(profilePath);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.warn("프로필 경로 조회 실패 - user: {}, err: {}", userInfo.getUserId(), e.getMessage());
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
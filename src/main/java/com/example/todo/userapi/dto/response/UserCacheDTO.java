@@ -0,0 +1,30 @@
+package com.example.todo.userapi.dto.response;
+
+import com.example.todo.userapi.entity.Role;
+import com.example.todo.userapi.entity.User;
+import lombok.*;
+
+// 2단 캐시에 넣어두는 회원 요약정보 (엔터티는 캐시하지 않음)
+@Setter
+@Getter
+@ToString
+@EqualsAndHashCode(of = "id")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserCacheDTO {
+
+    private String id;
+    private String email;
+    private String userName;
+    private Role role;
+    private String profileImg;
+
+    public UserCacheDTO(User user) {
+        this.id = user.getId();
+        this.email = user.getEmail();
+        this.userName = user.getUserName();
+        this.role = user.getRole();
+        this.profileImg = user.getProfileImg();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.todo.userapi.entity;
+
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.GenericGenerator;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+// 프로필 사진 업로드 할 일 (outbox)
+// 회원가입 트랜잭션에서 회원 행과 같이 저장 -> 가입이 롤백되면 업로드도 없음 (저장소에 고아 파일이 안 생김)
+// 실제 업로드는 ProfileUploadWorker가 임시파일을 읽어서 저장소로 올림
+@Getter
+@ToString
+@EqualsAndHashCode(of = "id")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+@Entity
+@Table(name = "tbl_profile_upload_task", indexes = {
+        @Index(name = "idx_profile_upload_next", columnList = "next_attempt_at"),
+        @Index(name = "idx_profile_upload_node_next", columnList = "node_id, next_attempt_at")
+})
+public class ProfileUploadTask {
+
+    @Id
+    @Column(name = "task_id")
+    @GeneratedValue(generator = "system-uuid")
+    @GenericGenerator(name = "system-uuid", strategy = "uuid")
+    private String id;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(nullable = false)
+    private String spoolPath; // 이미지를 잠깐 저장해둔 로컬 임시파일
+
+    @Column(name = "node_id", nullable = false)
+    private String nodeId; // 임시파일을 가진 서버 (이 서버만 가져갈 수 있음)
+
+    @Column(nullable = false)
+    private String fileName; // 저장소에 올릴 파일명 (내용 sha-256 + 확장자)
+
+    private int attempts; // 실패한 횟수
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt; // 이 시간 이후에 (다시) 시도
+
+    private String lastError;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+}
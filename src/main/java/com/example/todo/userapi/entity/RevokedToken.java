@@ -0,0 +1,40 @@
+package com.example.todo.userapi.entity;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+// 폐기된 토큰 (서버 재시작/여러 대 동기화용 원본, 실제 검사는 TokenRevocationList 메모리에서)
+// - 토큰 하나 폐기: id = jti
+// - 회원의 토큰 전부 폐기 (등급변경, 탈퇴): id = "user:" + 회원id, cutoff 이전에 발급된 토큰이 모두 무효
+@Getter
+@ToString
+@EqualsAndHashCode(of = "id")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+@Entity
+@Table(name = "tbl_revoked_token", indexes = {
+        @Index(name = "idx_revoked_token_revoked", columnList = "revoked_at"),
+        @Index(name = "idx_revoked_token_expires", columnList = "expires_at")
+})
+public class RevokedToken {
+
+    @Id
+    @Column(name = "revocation_id", length = 80)
+    private String id;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    private Long cutoff; // 회원 전체 폐기일 때 이 시간(epoch 밀리초) 전에 발급된 토큰은 무효
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt; // 폐기된 토큰이 어차피 만료되는 시간 -> 이후엔 지워도 됨
+
+}
@@ -4,6 +4,7 @@ import lombok.*;
 import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Where;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -17,6 +18,7 @@ import java.util.StringTokenizer;
 @Builder
 
 @Entity
+@Where(clause = "deleted_at IS NULL") // 탈퇴 처리된 회원은 JPA 조회에서 안 보임
 @Table(name = "tbl_user")
 public class User {
 
@@ -45,6 +47,9 @@ public class User {
 
     private String profileImg;
 
+    // 탈퇴 시간 (null이면 정상회원) - 할 일과 회원 행은 새벽에 정리 작업이 조금씩 지움
+    private LocalDateTime deletedAt;
+
 
 
     // 세터를 만들지말고 등급 수정메서드를 따로 만듦!!!
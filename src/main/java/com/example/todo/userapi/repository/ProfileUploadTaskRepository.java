@@ -0,0 +1,35 @@
+package com.example.todo.userapi.repository;
+
+import com.example.todo.userapi.entity.ProfileUploadTask;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ProfileUploadTaskRepository extends JpaRepository<ProfileUploadTask, String> {
+
+    // 이 서버가 등록한 할 일 중 시도할 시간이 된 것 (오래된 것부터)
+    // 임시파일이 등록한 서버의 로컬 디스크에만 있어서 다른 서버 것은 가져오지 않음
+    @Query("SELECT t.id FROM ProfileUploadTask t WHERE t.nodeId = :nodeId AND t.nextAttemptAt <= :now" +
+            " ORDER BY t.nextAttemptAt")
+    List<String> findDueIds(@Param("nodeId") String nodeId, @Param("now") LocalDateTime now, Pageable pageable);
+
+    // 내가 처리하겠다고 찜하기 - nextAttemptAt을 lease 시간으로 미뤄둠
+    // 같은 서버의 작업 스레드끼리도 한 곳만 1을 받음, 처리하다 죽으면 재시작 후 lease가 끝나면 다시 가져감
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ProfileUploadTask t SET t.nextAttemptAt = :leaseUntil " +
+            "WHERE t.id = :id AND t.nodeId = :nodeId AND t.nextAttemptAt <= :now")
+    int claim(@Param("id") String id, @Param("nodeId") String nodeId
+            , @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // 실패 기록 후 backoff 시간 뒤로 미룸
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ProfileUploadTask t SET t.attempts = t.attempts + 1, t.nextAttemptAt = :nextAttemptAt" +
+            ", t.lastError = :error WHERE t.id = :id")
+    int reschedule(@Param("id") String id, @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error);
+
+}
@@ -0,0 +1,37 @@
+package com.example.todo.userapi.repository;
+
+import com.example.todo.userapi.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    // 다른 서버에서 새로 폐기된 것 (동기화용)
+    List<RevokedToken> findByRevokedAtGreaterThanEqualAndExpiresAtAfter(LocalDateTime since, LocalDateTime now);
+
+    // 회원 전체 폐기 - 행이 이미 있으면 더 늦은 cutoff만 남김 (옛날 토큰 로그아웃이 등급변경/탈퇴 cutoff를 낮추지 않게)
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO tbl_revoked_token (revocation_id, user_id, cutoff, revoked_at, expires_at) " +
+            "VALUES (:id, :userId, :cutoff, :revokedAt, :expiresAt) " +
+            "ON DUPLICATE KEY UPDATE cutoff = GREATEST(cutoff, :cutoff), revoked_at = :revokedAt" +
+            ", expires_at = GREATEST(expires_at, :expiresAt)"
+            , nativeQuery = true)
+    int raiseCutoff(@Param("id") String id
+            , @Param("userId") String userId
+            , @Param("cutoff") long cutoff
+            , @Param("revokedAt") LocalDateTime revokedAt
+            , @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+}
@@ -2,8 +2,12 @@ package com.example.todo.userapi.repository;
 
 import com.example.todo.userapi.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, String> {
@@ -17,5 +21,31 @@ public interface UserRepository extends JpaRepository<User, String> {
 //    @Query("select count(*) from User u where u.email=:email")
     boolean existsByEmail(String email);
 
+    // 탈퇴 처리 중인 회원까지 포함한 이메일 중복체크 (행이 아직 남아 있어서 unique 제약에 걸림)
+    @Query(value = "SELECT COUNT(*) FROM tbl_user WHERE email = :email", nativeQuery = true)
+    long countByEmailIncludingDeleted(@Param("email") String email);
+
+    // 업로드가 끝난 프로필 사진 경로 채우기 (탈퇴한 회원이면 0)
+    @Modifying
+    @Query("UPDATE User u SET u.profileImg = :profileImg WHERE u.id = :userId AND u.deletedAt IS NULL")
+    int updateProfileImg(@Param("userId") String userId, @Param("profileImg") String profileImg);
+
+    // 탈퇴 표시 - 회원을 읽지 않고 UPDATE 한번
+    @Modifying
+    @Query("UPDATE User u SET u.deletedAt = :now WHERE u.id = :userId AND u.deletedAt IS NULL")
+    int softDelete(@Param("userId") String userId, @Param("now") LocalDateTime now);
+
+    // 정리 작업 대상 - 탈퇴 표시된 회원 id
+    @Query(value = "SELECT user_id FROM tbl_user WHERE deleted_at IS NOT NULL LIMIT :limit", nativeQuery = true)
+    List<String> findDeletedUserIds(@Param("limit") int limit);
+
+    // 탈퇴 회원의 프로필 사진 위치 (@Where 때문에 JPA 조회로는 안 보임)
+    @Query(value = "SELECT profile_img FROM tbl_user WHERE user_id = :userId", nativeQuery = true)
+    String findProfileImgIncludingDeleted(@Param("userId") String userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM tbl_user WHERE user_id = :userId AND deleted_at IS NOT NULL", nativeQuery = true)
+    int purge(@Param("userId") String userId);
+
 
 }
@@ -0,0 +1,291 @@
+package com.example.todo.userapi.service;
+
+import com.example.todo.cache.CacheRegions;
+import com.example.todo.cache.TwoTierCache;
+import com.example.todo.storage.StorageService;
+import com.example.todo.storage.StoredFileRepository;
+import com.example.todo.userapi.entity.ProfileUploadTask;
+import com.example.todo.userapi.repository.ProfileUploadTaskRepository;
+import com.example.todo.userapi.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 프로필 사진 업로드 outbox 처리기
+// - 회원가입 요청은 이미지를 임시파일로 떨구고 업로드 할 일만 저장하고 바로 응답 (저장소를 기다리지 않음)
+// - 작업 스레드들이 업로드 할 일을 가져가서 저장소(S3/로컬)에 올리고 회원의 profileImg를 채움
+// - 실패하면 지수 backoff로 다시 시도, max-attempts 넘으면 포기
+// - 파일명이 내용 해시라서 이미 있는 이미지면 업로드 없이 참조만 늘림
+// - 임시파일은 이 서버 디스크에만 있어서 할 일에 node-id를 남기고 자기 것만 가져감
+@Service
+@Slf4j
+public class ProfileUploadWorker {
+
+    private final ProfileUploadTaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final StorageService storageService;
+    private final StoredFileRepository storedFileRepository;
+    private final TwoTierCache twoTierCache;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Path spoolDir;
+    private final String nodeId;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long baseBackoffMs;
+    private final long maxBackoffMs;
+    private final long leaseMs;
+
+    private final ExecutorService workers;
+    // 이 서버에서 처리중인 할 일 (같은 할 일을 두번 제출하지 않게)
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    public ProfileUploadWorker(
+            ProfileUploadTaskRepository taskRepository
+            , UserRepository userRepository
+            , StorageService storageService
+            , StoredFileRepository storedFileRepository
+            , TwoTierCache twoTierCache
+            , TransactionTemplate transactionTemplate
+            , @Value("${upload.spool-path:${java.io.tmpdir}/todo-upload-spool}") String spoolPath
+            , @Value("${upload.node-id:}") String nodeId
+            , @Value("${upload.worker.threads:2}") int threads
+            , @Value("${upload.worker.batch-size:50}") int batchSize
+            , @Value("${upload.worker.max-attempts:8}") int maxAttempts
+            , @Value("${upload.worker.base-backoff-ms:1000}") long baseBackoffMs
+            , @Value("${upload.worker.max-backoff-ms:600000}") long maxBackoffMs
+            , @Value("${upload.worker.lease-ms:300000}") long leaseMs) throws IOException {
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.storageService = storageService;
+        this.storedFileRepository = storedFileRepository;
+        this.twoTierCache = twoTierCache;
+        this.transactionTemplate = transactionTemplate;
+        this.spoolDir = Files.createDirectories(Paths.get(spoolPath));
+        this.nodeId = StringUtils.hasText(nodeId) ? nodeId : InetAddress.getLocalHost().getHostName();
+        log.info("프로필 업로드 node-id: {}, 임시파일 경로: {}", this.nodeId, this.spoolDir);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffMs = baseBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.leaseMs = leaseMs;
+
+        AtomicInteger threadNo = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "profile-upload-" + threadNo.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * 업로드된 이미지를 임시파일로 저장하고 업로드 할 일을 등록 (회원가입 트랜잭션 안에서 호출)
+     * 트랜잭션이 롤백되면 임시파일을 지우고, 커밋되면 바로 작업 스레드를 깨움
+     *
+     * @param userId - 가입한 회원
+     * @param profileImg - 업로드된 이미지
+     * @throws IOException - 임시파일 저장 실패
+     */
+    public void enqueue(String userId, MultipartFile profileImg) throws IOException {
+        // 임시파일에 쓰면서 sha-256을 같이 계산 (파일을 두번 읽지 않음)
+        Path spooled = spoolDir.resolve(UUID.randomUUID().toString());
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(profileImg.getInputStream(), digest)) {
+            Files.copy(in, spooled);
+        }
+        // 내용이 같으면 파일명도 같음 -> 같은 이미지는 한 번만 저장
+        String fileName = toHex(digest.digest()) + extensionOf(profileImg.getOriginalFilename());
+
+        taskRepository.save(ProfileUploadTask.builder()
+                .userId(userId)
+                .spoolPath(spooled.toString())
+                .nodeId(nodeId)
+                .fileName(fileName)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // 요청 스레드의 커밋된 커넥션에서 조회하지 않도록 작업 스레드에서
+                try {
+                    workers.execute(() -> poll());
+                } catch (RejectedExecutionException e) {
+                    log.debug("업로드 작업 스레드 종료됨 - 다음 주기에 처리");
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    deleteQuietly(spooled);
+                }
+            }
+        });
+    }
+
+    // 재시도 대상이나 깨우기를 놓친 할 일을 주기적으로 가져감
+    @Scheduled(fixedDelayString = "${upload.worker.poll-ms:5000}")
+    public void poll() {
+        List<String> due;
+        try {
+            due = taskRepository.findDueIds(nodeId, LocalDateTime.now(), PageRequest.of(0, batchSize));
+        } catch (Exception e) {
+            log.warn("업로드 할 일 조회 실패 - {}", e.getMessage());
+            return;
+        }
+        for (String taskId : due) {
+            if (!inFlight.add(taskId)) {
+                continue;
+            }
+            try {
+                workers.execute(() -> {
+                    try {
+                        process(taskId);
+                    } finally {
+                        inFlight.remove(taskId);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                inFlight.remove(taskId);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void process(String taskId) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer claimed = transactionTemplate.execute(status ->
+                taskRepository.claim(taskId, nodeId, now, now.plusNanos(leaseMs * 1_000_000)));
+        if (claimed == null || claimed == 0) {
+            return; // 다른 서버가 가져갔거나 이미 끝남
+        }
+        ProfileUploadTask task = taskRepository.findById(taskId).orElse(null);
+        if (task == null) {
+            return;
+        }
+
+        Path spooled = Paths.get(task.getSpoolPath());
+        String contentKey = task.getFileName();
+        try {
+            // 이미 저장된 내용이면 참조만 늘리고 업로드 생략
+            String existing = transactionTemplate.execute(status -> {
+                if (storedFileRepository.acquire(contentKey) == 0) {
+                    return null;
+                }
+                String location = storedFileRepository.findLocation(contentKey);
+                finish(task, location);
+                return location;
+            });
+
+            if (existing == null) {
+                String location = storageService.store(spooled, contentKey);
+                transactionTemplate.executeWithoutResult(status -> {
+                    storedFileRepository.register(contentKey, location, LocalDateTime.now());
+                    finish(task, location);
+                });
+            }
+            deleteQuietly(spooled);
+            log.debug("프로필 사진 업로드 완료 - user: {}, 중복: {}", task.getUserId(), existing != null);
+
+        } catch (Exception e) {
+            int attempts = task.getAttempts() + 1;
+            if (attempts >= maxAttempts) {
+                log.error("프로필 사진 업로드 포기 - user: {}, 시도: {}회, err: {}", task.getUserId(), attempts, e.getMessage());
+                transactionTemplate.executeWithoutResult(status -> taskRepository.deleteById(taskId));
+                deleteQuietly(spooled);
+                return;
+            }
+            long delay = backoffMs(attempts);
+            log.warn("프로필 사진 업로드 실패 - user: {}, {}ms 후 재시도, err: {}", task.getUserId(), delay, e.getMessage());
+            transactionTemplate.executeWithoutResult(status -> taskRepository.reschedule(
+                    taskId, LocalDateTime.now().plusNanos(delay * 1_000_000), abbreviate(e.toString())));
+        }
+    }
+
+    // 회원 profileImg 채우고 할 일 삭제 (참조를 잡은 트랜잭션 안에서)
+    private void finish(ProfileUploadTask task, String location) {
+        if (userRepository.updateProfileImg(task.getUserId(), location) == 0) {
+            log.info("업로드 중에 탈퇴한 회원 - user: {}", task.getUserId());
+            storedFileRepository.release(location, LocalDateTime.now());
+        }
+        twoTierCache.evictAfterCommit(CacheRegions.USER, task.getUserId());
+        taskRepository.deleteById(task.getId());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // 모든 JVM에 있음
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    // 응답 Content-Type을 확장자로 정하니까 확장자만 남김 (".png")
+    private static String extensionOf(String originalFilename) {
+        String ext = StringUtils.getFilenameExtension(StringUtils.cleanPath(String.valueOf(originalFilename)));
+        if (ext == null || !ext.matches("[A-Za-z0-9]{1,5}")) {
+            return "";
+        }
+        return "." + ext.toLowerCase();
+    }
+
+    // 지수 backoff + jitter (같이 실패한 할 일들이 동시에 다시 몰리지 않게)
+    private long backoffMs(int attempts) {
+        long exp = baseBackoffMs << Math.min(attempts - 1, 20);
+        long capped = Math.min(exp, maxBackoffMs);
+        return capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1);
+    }
+
+    private static String abbreviate(String message) {
+        return message.length() > 255 ? message.substring(0, 255) : message;
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("임시파일 삭제 실패 - {}", path);
+        }
+    }
+}
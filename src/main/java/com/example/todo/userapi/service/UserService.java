@@ -1,27 +1,34 @@
 package com.example.todo.userapi.service;
 
 import com.example.todo.auth.TokenProvider;
+import com.example.todo.auth.TokenRevocationList;
 import com.example.todo.auth.TokenUserInfo;
-import com.example.todo.aws.S3Service;
+import com.example.todo.cache.CacheRegions;
+import com.example.todo.cache.TwoTierCache;
 import com.example.todo.exception.DuplcatedEmailException;
 import com.example.todo.exception.NoRegisteredArgumentsException;
 import com.example.todo.userapi.dto.request.LoginRequestDTO;
 import com.example.todo.userapi.dto.request.UserRequestSignUpDTO;
 import com.example.todo.userapi.dto.response.LoginResponseDTO;
+import com.example.todo.userapi.dto.response.UserCacheDTO;
 import com.example.todo.userapi.dto.response.UserSignUpResponseDTO;
 import com.example.todo.userapi.entity.Role;
 import com.example.todo.userapi.entity.User;
 import com.example.todo.userapi.repository.UserRepository;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.UUID;
+import java.time.LocalDateTime;
+import java.util.NoSuchElementException;
 
 @Service
 @Slf4j
@@ -31,16 +38,19 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder encoder;
     private final TokenProvider tokenProvider; // ocp원칙과 dip원칙 지킨 것
-    private final S3Service s3Service;
-
-//    @Value("${upload.path}")
-//    private String uploadRootPath;
+    private final ProfileUploadWorker profileUploadWorker;
+    private final TwoTierCache twoTierCache;
+    private final TokenRevocationList tokenRevocationList;
 
     // 회원가입 처리
+    // 회원 행과 프로필 사진 업로드 할 일을 한 트랜잭션으로 저장 (저장소 업로드는 ProfileUploadWorker가 나중에)
+    @Timed(value = "user.service", extraTags = {"method", "create"})
+    @Counted("user.signup") // 성공/실패(result 태그) 횟수
+    @Transactional(rollbackFor = IOException.class)
     public UserSignUpResponseDTO create(
             final UserRequestSignUpDTO dto
-            , String uploadedFilePath)
-            throws RuntimeException {
+            , MultipartFile profileImg)
+            throws RuntimeException, IOException {
 
         String email = dto.getEmail();
 
@@ -56,22 +66,41 @@ public class UserService {
             log.warn("이메일이 중복되었습니다 - {} ", email);
             throw new DuplcatedEmailException("중복된 이메일입니다");
         }
+        // 탈퇴 처리 중인 회원의 이메일 (정리 작업이 끝나야 다시 가입 가능)
+        if (userRepository.countByEmailIncludingDeleted(email) > 0) {
+            throw new DuplcatedEmailException("탈퇴 처리 중인 이메일입니다. 잠시 후 다시 시도해주세요.");
+        }
 
         // 패스워드 인코딩
         String encoded = encoder.encode(dto.getPassword());
         dto.setPassword(encoded);
 
-        // 유저 엔터티로 변환
-        User user = dto.toEntity(uploadedFilePath);
+        // 유저 엔터티로 변환 (프로필 사진 경로는 업로드가 끝나면 채워짐)
+        User user = dto.toEntity(null);
 
         User saved = userRepository.save(user);
+        // 가입 전에 조회된 적이 없어서 보통은 할 일 없음 (다른 서버에 남은 옛날 값 방지용)
+        twoTierCache.evictAfterCommit(CacheRegions.USER, saved.getId());
+
+        if (profileImg != null && !profileImg.isEmpty()) {
+            log.info("attached file name: {}", profileImg.getOriginalFilename());
+            profileUploadWorker.enqueue(saved.getId(), profileImg);
+        }
 
-        log.info("회원가입 정상 수행됨 - saved user - {}", saved);
+        log.info("회원가입 정상 수행됨 - saved user - {}", saved.getEmail());
 
         return new UserSignUpResponseDTO(saved);
 
     }
 
+    // 가입 재시도(Idempotency-Key) 때 처음 가입 응답을 다시 만듦
+    @Transactional(readOnly = true)
+    public UserSignUpResponseDTO getSignUpResult(String email) {
+        return userRepository.findByEmail(email)
+                .map(UserSignUpResponseDTO::new)
+                .orElse(null);
+    }
+
     // 이건 이메일실시간 검증!
     public boolean isDuplicate(String email) {
 
@@ -80,6 +109,8 @@ public class UserService {
 
 
     // 회원 인증
+    @Timed(value = "user.service", extraTags = {"method", "authenticate"})
+    @Counted("user.signin") // 성공/실패(result 태그) 횟수
     public LoginResponseDTO authenticate(final LoginRequestDTO dto) {
 
         // 이메일을 통해서 회원 정보를 조회
@@ -128,46 +159,49 @@ public class UserService {
         //foundUser.setRole(); ㄴㄴ
         foundUser.changeRole(Role.PREMIUM);
         User saved = userRepository.save(foundUser);
+        twoTierCache.evictAfterCommit(CacheRegions.USER, saved.getId());
+
+        // 예전 등급(COMMON)이 들어있는 토큰들은 폐기 - 지금 이 밀리초까지 발급된 건 전부
+        // 새로 발급하는 토큰은 발급시간을 cutoff로 찍어서 살아있음 (초 단위로 비교하면 같은 초에 먼저 받은 옛 토큰이 살아남음)
+        long cutoff = System.currentTimeMillis() + 1;
+        tokenRevocationList.revokeAllBefore(saved.getId(), cutoff);
 
         // 변경된 권한에 맞는 토큰을 재발급
-        String token = tokenProvider.createToken(saved);
+        String token = tokenProvider.createToken(saved, cutoff);
 
         return new LoginResponseDTO(saved, token);
     }
 
-    // 파일 저장처리 메서드
-
-    /**
-     * 업로드된 파일을 서버에 저장하고 저장경로를 리턴
-     *
-     * @param originalFile - 업로드된 파일의 정보
-     * @return 실제로 저장된 이미지의 경로
-     */
-    public String uploadProfileImage(MultipartFile originalFile) throws IOException {
-
-        // 루트 디렉토리가 존재하는지 확인 후 존재하지 않으면 생성
-//        File rootDir = new File(uploadRootPath);
-//        if (!rootDir.exists()) rootDir.mkdir();
-
-        // 파일명을 유니크하게 변경
-        String uniqueFileName = UUID.randomUUID() + "_" + originalFile.getOriginalFilename();
-
-        // 파일을 저장
-//        File uploadFile = new File(uploadRootPath + "/" + uniqueFileName);
-//        originalFile.transferTo(uploadFile);
+    // 로그아웃 - 지금 쓰는 토큰만 폐기
+    public void logout(TokenUserInfo userInfo) {
+        tokenRevocationList.revoke(userInfo);
+        log.info("로그아웃 - {}", userInfo.getEmail());
+    }
 
-        // 파일을 s3 버킷에 저장
-        String uploadUrl = s3Service.uploadToS3Bucket(originalFile.getBytes(), uniqueFileName);
+    // 회원 탈퇴 (탈퇴 표시만 하고 바로 리턴, 할 일과 회원 행은 TodoPurgeService가 나눠서 지움)
+    @Transactional
+    public void delete(TokenUserInfo userInfo) throws NoRegisteredArgumentsException {
+        if (userRepository.softDelete(userInfo.getUserId(), LocalDateTime.now()) == 0) {
+            throw new NoRegisteredArgumentsException("회원조회에 실패!");
+        }
+        twoTierCache.evictAfterCommit(CacheRegions.USER, userInfo.getUserId());
+        // 지금 쓰는 토큰까지 전부 폐기
+        tokenRevocationList.revokeAllBefore(userInfo.getUserId(), System.currentTimeMillis() + 1);
+        log.info("회원 탈퇴 처리됨 - {}", userInfo.getEmail());
+    }
 
-        return uploadUrl;
+    // 회원 요약정보 (2단 캐시 -> 없으면 DB)
+    public UserCacheDTO getCachedUser(String userId) {
+        return twoTierCache.get(CacheRegions.USER, userId, UserCacheDTO.class,
+                () -> userRepository.findById(userId).map(UserCacheDTO::new).orElse(null));
     }
 
     public String getProfilePath(String userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow();
-//        return uploadRootPath + "/" + user.getProfileImg();
-            return user.getProfileImg();
-
+        UserCacheDTO user = getCachedUser(userId);
+        if (user == null) {
+            throw new NoSuchElementException("회원정보가 없습니다.");
+        }
+        return user.getProfileImg();
     }
 
 
@@ -0,0 +1,25 @@
+-- 초기 스키마 (기능 추가 전에 ddl-auto: update 가 만들던 tbl_user, tbl_todo 그대로)
+-- 이미 update로 테이블이 만들어진 DB는 baseline-on-migrate로 V1을 건너뛰고 V2부터 적용
+-- 이후 엔티티를 바꾸면 다음 번호로 V{n}__설명.sql 을 추가 (서버는 validate로 검사만 함)
+
+CREATE TABLE tbl_user (
+    user_id     VARCHAR(255) NOT NULL,
+    email       VARCHAR(255) NOT NULL,
+    password    VARCHAR(255) NOT NULL,
+    user_name   VARCHAR(255) NOT NULL,
+    join_date   DATETIME(6),
+    role        VARCHAR(255),
+    profile_img VARCHAR(255),
+    PRIMARY KEY (user_id),
+    CONSTRAINT uk_user_email UNIQUE (email)
+);
+
+CREATE TABLE tbl_todo (
+    todo_id     VARCHAR(255) NOT NULL,
+    title       VARCHAR(30)  NOT NULL,
+    done        BIT          NOT NULL,
+    create_date DATETIME(6),
+    user_id     VARCHAR(255),
+    PRIMARY KEY (todo_id),
+    CONSTRAINT fk_todo_user FOREIGN KEY (user_id) REFERENCES tbl_user (user_id)
+);
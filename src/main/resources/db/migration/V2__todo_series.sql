@@ -0,0 +1,80 @@
+-- V1 이후 기능들이 추가한 컬럼/테이블 (낙관적 락, 삭제 표시, 보관, 통계, 업로드 outbox, 토큰 폐기)
+-- flyway 도입 전에 update로 일부가 이미 만들어진 DB도 있어서 전부 IF NOT EXISTS
+
+ALTER TABLE tbl_user ADD COLUMN IF NOT EXISTS deleted_at DATETIME(6);
+
+-- 기존 행이 있으니 기본값 0
+ALTER TABLE tbl_todo ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE tbl_todo ADD COLUMN IF NOT EXISTS deleted_at DATETIME(6);
+
+CREATE INDEX IF NOT EXISTS idx_todo_user_done_create ON tbl_todo (user_id, done, create_date);
+CREATE INDEX IF NOT EXISTS idx_todo_user_create ON tbl_todo (user_id, create_date);
+CREATE INDEX IF NOT EXISTS idx_todo_done_create ON tbl_todo (done, create_date);
+CREATE INDEX IF NOT EXISTS idx_todo_deleted ON tbl_todo (deleted_at);
+
+CREATE TABLE IF NOT EXISTS tbl_todo_archive (
+    todo_id     VARCHAR(255) NOT NULL,
+    user_id     VARCHAR(255) NOT NULL,
+    title       VARCHAR(30)  NOT NULL,
+    done        BIT          NOT NULL,
+    create_date DATETIME(6),
+    archived_at DATETIME(6),
+    PRIMARY KEY (todo_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_todo_archive_user_create ON tbl_todo_archive (user_id, create_date);
+
+CREATE TABLE IF NOT EXISTS tbl_todo_stats (
+    user_id VARCHAR(255) NOT NULL,
+    total   BIGINT       NOT NULL,
+    done    BIGINT       NOT NULL,
+    PRIMARY KEY (user_id)
+);
+
+CREATE TABLE IF NOT EXISTS tbl_todo_daily_stats (
+    user_id   VARCHAR(255) NOT NULL,
+    stat_date DATE         NOT NULL,
+    created   BIGINT       NOT NULL,
+    completed BIGINT       NOT NULL,
+    PRIMARY KEY (user_id, stat_date)
+);
+
+CREATE TABLE IF NOT EXISTS tbl_profile_upload_task (
+    task_id         VARCHAR(255) NOT NULL,
+    user_id         VARCHAR(255) NOT NULL,
+    spool_path      VARCHAR(255) NOT NULL,
+    node_id         VARCHAR(255) NOT NULL, -- 임시파일을 가진 서버 (그 서버만 가져감)
+    file_name       VARCHAR(255) NOT NULL,
+    attempts        INTEGER      NOT NULL,
+    next_attempt_at DATETIME(6)  NOT NULL,
+    last_error      VARCHAR(255),
+    created_at      DATETIME(6),
+    PRIMARY KEY (task_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_profile_upload_next ON tbl_profile_upload_task (next_attempt_at);
+CREATE INDEX IF NOT EXISTS idx_profile_upload_node_next ON tbl_profile_upload_task (node_id, next_attempt_at);
+
+CREATE TABLE IF NOT EXISTS tbl_stored_file (
+    content_key VARCHAR(80)  NOT NULL,
+    location    VARCHAR(512) NOT NULL,
+    ref_count   INTEGER      NOT NULL,
+    created_at  DATETIME(6),
+    released_at DATETIME(6),
+    PRIMARY KEY (content_key)
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_stored_file_location ON tbl_stored_file (location);
+CREATE INDEX IF NOT EXISTS idx_stored_file_released ON tbl_stored_file (ref_count, released_at);
+
+CREATE TABLE IF NOT EXISTS tbl_revoked_token (
+    revocation_id VARCHAR(80)  NOT NULL,
+    user_id       VARCHAR(255) NOT NULL,
+    cutoff        BIGINT, -- 회원 전체 폐기 기준 발급시간 (epoch 밀리초)
+    revoked_at    DATETIME(6)  NOT NULL,
+    expires_at    DATETIME(6)  NOT NULL,
+    PRIMARY KEY (revocation_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_token_revoked ON tbl_revoked_token (revoked_at);
+CREATE INDEX IF NOT EXISTS idx_revoked_token_expires ON tbl_revoked_token (expires_at);
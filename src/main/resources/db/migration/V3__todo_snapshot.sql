@@ -0,0 +1,8 @@
+-- 회원별 할 일 목록 스냅샷 (todo.snapshot.enabled=true 일때만 씀)
+CREATE TABLE tbl_todo_snapshot (
+    user_id    VARCHAR(255) NOT NULL,
+    payload    LONGBLOB,
+    version    BIGINT       NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (user_id)
+);
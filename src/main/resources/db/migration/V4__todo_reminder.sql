@@ -0,0 +1,5 @@
+-- 할 일 마감/알림 시간 (TodoReminderService가 remind_at 인덱스로 가까운 구간만 읽어감)
+ALTER TABLE tbl_todo ADD COLUMN due_at DATETIME(6);
+ALTER TABLE tbl_todo ADD COLUMN remind_at DATETIME(6);
+
+CREATE INDEX idx_todo_remind ON tbl_todo (remind_at);
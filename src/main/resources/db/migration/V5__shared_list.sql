@@ -0,0 +1,21 @@
+-- 공유 목록 (할 일은 tbl_todo.list_id 로 목록에 속함, null이면 개인 할 일)
+CREATE TABLE tbl_shared_list (
+    list_id     VARCHAR(255) NOT NULL,
+    name        VARCHAR(30)  NOT NULL,
+    owner_id    VARCHAR(255) NOT NULL,
+    create_date DATETIME(6),
+    PRIMARY KEY (list_id)
+);
+
+CREATE TABLE tbl_shared_list_member (
+    list_id   VARCHAR(255) NOT NULL,
+    user_id   VARCHAR(255) NOT NULL,
+    joined_at DATETIME(6),
+    PRIMARY KEY (list_id, user_id)
+);
+
+CREATE INDEX idx_shared_list_member_user ON tbl_shared_list_member (user_id, list_id);
+
+ALTER TABLE tbl_todo ADD COLUMN list_id VARCHAR(255);
+
+CREATE INDEX idx_todo_list_create ON tbl_todo (list_id, create_date);
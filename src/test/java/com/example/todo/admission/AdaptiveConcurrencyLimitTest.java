@@ -0,0 +1,148 @@
+package com.example.todo.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitTest {
+
+    static final long FAST = 5_000_000; // 5ms
+    static final long SLOW = 500_000_000; // 500ms
+    static final long SEC = 1_000_000_000;
+
+    // 초기 4, 범위 1~8, 대기 없음, 느려지면 절반
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 1, 8, 0, 0.5, 2.0, 20);
+
+    @Test
+    @DisplayName("한도만큼 처리중이면 다음 요청은 거절되어야 한다")
+    void rejectWhenFullTest() throws InterruptedException {
+        //given
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limit.tryAcquire(0));
+        }
+        //when
+        boolean admitted = limit.tryAcquire(0);
+        //then
+        assertFalse(admitted);
+        assertEquals(4, limit.getInFlight());
+    }
+
+    @Test
+    @DisplayName("한도를 채워 쓰면서 빠르게 끝나면 한도가 늘어나야 한다")
+    void increaseOnFastTest() throws InterruptedException {
+        //given
+        for (int i = 0; i < 4; i++) {
+            limit.tryAcquire(0);
+        }
+        //when
+        limit.release(FAST, false);
+        //then
+        assertEquals(5, limit.getLimit());
+    }
+
+    @Test
+    @DisplayName("한도를 거의 안 쓰고 있으면 빨라도 한도가 그대로여야 한다")
+    void keepWhenIdleTest() throws InterruptedException {
+        //given
+        limit.tryAcquire(0);
+        //when
+        limit.release(FAST, false);
+        //then
+        assertEquals(4, limit.getLimit());
+    }
+
+    @Test
+    @DisplayName("응답이 평소보다 많이 느려지거나 실패하면 한도가 줄어야 한다")
+    void decreaseOnSlowOrDropTest() throws InterruptedException {
+        //given - 평소 응답시간 5ms
+        long now = 0;
+        limit.tryAcquire(0);
+        limit.release(now += SEC, FAST, false);
+        //when
+        limit.tryAcquire(0);
+        assertTrue(limit.release(now += SEC, SLOW, false));
+        limit.tryAcquire(0);
+        assertTrue(limit.release(now += SEC, FAST, true));
+        //then
+        assertEquals(1, limit.getLimit());
+    }
+
+    @Test
+    @DisplayName("줄이기 전에 시작한 요청들이 느려도 한 RTT에 한 번만 줄어야 한다")
+    void decreaseOncePerWindowTest() throws InterruptedException {
+        //given - 동시에 시작한 요청 4개가 다 느림
+        AdaptiveConcurrencyLimit wide = new AdaptiveConcurrencyLimit(8, 1, 8, 0, 0.5, 2.0, 20);
+        long now = SEC;
+        wide.tryAcquire(0);
+        wide.release(now, FAST, false);
+        for (int i = 0; i < 4; i++) {
+            wide.tryAcquire(0);
+        }
+        //when
+        for (int i = 0; i < 4; i++) {
+            wide.release(now += 1_000_000, SLOW, false);
+        }
+        //then
+        assertEquals(4, wide.getLimit());
+    }
+
+    @Test
+    @DisplayName("줄어들어도 최소 한도 밑으로는 내려가지 않아야 한다")
+    void minLimitTest() throws InterruptedException {
+        //when
+        long now = 0;
+        for (int i = 0; i < 10; i++) {
+            limit.tryAcquire(0);
+            limit.release(now += SEC, FAST, true);
+        }
+        //then
+        assertEquals(1, limit.getLimit());
+        assertTrue(limit.tryAcquire(0));
+    }
+
+    @Test
+    @DisplayName("로그인처럼 원래 느린 경로가 섞여도 서버 전체 한도가 줄지 않아야 한다")
+    void mixedRoutesTest() throws InterruptedException {
+        //given - 로그인 평소 60ms, 조회 평소 3ms
+        AdaptiveConcurrencyLimit global = new AdaptiveConcurrencyLimit(100, 20, 400, 0, 0.9, 2.0, 20);
+        AdaptiveConcurrencyLimit signin = new AdaptiveConcurrencyLimit(16, 1, 16, 0, 0.9, 2.0, 20);
+        AdaptiveConcurrencyLimit read = new AdaptiveConcurrencyLimit(200, 1, 200, 0, 0.9, 2.0, 20);
+        long now = 0;
+        //when - 조회 9번에 로그인 1번씩 섞어서
+        for (int i = 0; i < 1000; i++) {
+            boolean isSignin = i % 10 == 0;
+            AdaptiveConcurrencyLimit route = isSignin ? signin : read;
+            long latency = isSignin ? 60_000_000 : 3_000_000;
+            route.tryAcquire(0);
+            global.tryAcquire(0);
+            now += SEC;
+            global.releaseJudged(now, latency, route.release(now, latency, false));
+        }
+        //then
+        assertEquals(100, global.getLimit());
+        assertEquals(16, signin.getLimit());
+    }
+
+    @Test
+    @DisplayName("대기열이 있으면 자리가 날 때까지 기다렸다가 처리되어야 한다")
+    void waitForSlotTest() throws InterruptedException {
+        //given
+        AdaptiveConcurrencyLimit queued = new AdaptiveConcurrencyLimit(1, 1, 1, 1, 0.5, 2.0, 20);
+        queued.tryAcquire(0);
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ignored) {
+            }
+            queued.release(FAST, false);
+        });
+        //when
+        releaser.start();
+        boolean admitted = queued.tryAcquire(2_000_000_000L);
+        //then
+        assertTrue(admitted);
+        assertEquals(0, queued.getWaiting());
+        releaser.join();
+    }
+}
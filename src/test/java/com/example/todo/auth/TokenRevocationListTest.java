@@ -0,0 +1,81 @@
+package com.example.todo.auth;
+
+import com.example.todo.userapi.entity.RevokedToken;
+import com.example.todo.userapi.entity.Role;
+import com.example.todo.userapi.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationListTest {
+
+    RevokedTokenRepository repository = mock(RevokedTokenRepository.class);
+    TokenRevocationList revocationList = new TokenRevocationList(repository, 30);
+
+    {
+        when(repository.save(any(RevokedToken.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private TokenUserInfo token(String jti, long issuedAtMs) {
+        return TokenUserInfo.builder()
+                .userId("user1").email("a@b.com").role(Role.COMMON)
+                .tokenId(jti).issuedAt(issuedAtMs).expiresAt(issuedAtMs / 1000 + 86400)
+                .build();
+    }
+
+    @Test
+    @DisplayName("로그아웃한 토큰만 폐기되고 같은 회원의 다른 토큰은 살아있어야 한다")
+    void revokeSingleTokenTest() {
+        //given
+        long now = System.currentTimeMillis();
+        TokenUserInfo loggedOut = token("jti-1", now);
+        //when
+        revocationList.revoke(loggedOut);
+        //then
+        assertTrue(revocationList.isRevoked(loggedOut));
+        assertFalse(revocationList.isRevoked(token("jti-2", now)));
+    }
+
+    @Test
+    @DisplayName("등급변경 시점 전에 발급된 토큰은 폐기되고 이후 발급된 토큰은 살아있어야 한다")
+    void revokeAllBeforeTest() {
+        //given
+        long now = System.currentTimeMillis();
+        //when
+        revocationList.revokeAllBefore("user1", now);
+        //then
+        assertTrue(revocationList.isRevoked(token("old", now - 10_000)));
+        assertFalse(revocationList.isRevoked(token("new", now)));
+    }
+
+    @Test
+    @DisplayName("등급변경 직전 같은 초에 발급된 토큰도 폐기되어야 한다")
+    void revokeSameSecondTest() {
+        //given
+        long second = Instant.now().getEpochSecond() * 1000;
+        TokenUserInfo earlier = token("earlier", second + 100);
+        //when
+        revocationList.revokeAllBefore("user1", second + 101);
+        //then
+        assertTrue(revocationList.isRevoked(earlier));
+        assertFalse(revocationList.isRevoked(token("reissued", second + 101)));
+    }
+
+    @Test
+    @DisplayName("회원 전체 폐기는 DB에 더 늦은 cutoff만 남기는 upsert로 저장해야 한다")
+    void revokeAllBeforeUpsertTest() {
+        //given
+        long now = System.currentTimeMillis();
+        //when
+        revocationList.revokeAllBefore("user1", now);
+        //then
+        verify(repository).raiseCutoff(eq("user:user1"), eq("user1"), eq(now), any(), any());
+        verify(repository, never()).save(any(RevokedToken.class));
+    }
+}
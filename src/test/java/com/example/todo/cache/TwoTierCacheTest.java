@@ -0,0 +1,87 @@
+package com.example.todo.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TwoTierCacheTest {
+
+    // 서버 두 대가 같은 공유 캐시(local 대역)를 보는 상황
+    LocalCacheTier shared = new LocalCacheTier(1000);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    TwoTierCache node1 = new TwoTierCache(shared, new ObjectMapper(), registry, 100, 30, 300);
+    TwoTierCache node2 = new TwoTierCache(shared, new ObjectMapper(), registry, 100, 30, 300);
+
+    @Test
+    @DisplayName("한 서버가 DB에서 읽은 값은 다른 서버에서 공유 캐시로 읽혀야 한다")
+    void sharedHitTest() {
+        //given
+        AtomicInteger loads = new AtomicInteger();
+        node1.get("user", "u1", String.class, () -> "v" + loads.incrementAndGet());
+        //when
+        String value = node2.get("user", "u1", String.class, () -> "v" + loads.incrementAndGet());
+        //then
+        assertEquals("v1", value);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, registry.counter("cache.gets", "region", "user", "result", "shared").count());
+    }
+
+    @Test
+    @DisplayName("한 서버에서 무효화하면 다른 서버의 near 캐시도 지워져야 한다")
+    void remoteInvalidationTest() {
+        //given
+        AtomicInteger loads = new AtomicInteger();
+        node1.get("user", "u1", String.class, () -> "v" + loads.incrementAndGet());
+        node2.get("user", "u1", String.class, () -> "v" + loads.incrementAndGet());
+        AtomicInteger remoteEvicts = new AtomicInteger();
+        node2.onRemoteEvict("user", key -> remoteEvicts.incrementAndGet());
+        //when
+        node1.evict("user", "u1");
+        String value = node2.get("user", "u1", String.class, () -> "v" + loads.incrementAndGet());
+        //then
+        assertEquals("v2", value);
+        assertEquals(1, remoteEvicts.get());
+    }
+
+    @Test
+    @DisplayName("버전이 없을 때 두 서버가 같이 뽑아도 먼저 넣은 값 하나로 맞춰져야 한다")
+    void versionPutIfAbsentTest() {
+        //given
+        String first = node1.version("todo-list-version", "u1");
+        //when
+        String second = node2.version("todo-list-version", "u1");
+        node1.evict("todo-list-version", "u1");
+        String renewed = node2.version("todo-list-version", "u1");
+        //then
+        assertEquals(first, second);
+        assertNotEquals(first, renewed);
+        assertEquals(renewed, node1.version("todo-list-version", "u1"));
+    }
+
+    @Test
+    @DisplayName("여러 키를 한번에 무효화하면 다른 서버의 near 캐시도 키마다 지워져야 한다")
+    void remoteEvictAllTest() {
+        //given
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            keys.add("u" + i);
+            node1.get("todo-list", "u" + i, String.class, () -> "old");
+            node2.get("todo-list", "u" + i, String.class, () -> "old");
+        }
+        List<String> remoteEvicted = new ArrayList<>();
+        node2.onRemoteEvict("todo-list", remoteEvicted::add);
+        //when
+        node1.evictAll("todo-list", keys);
+        //then
+        assertEquals(keys, remoteEvicted);
+        assertEquals("new", node2.get("todo-list", "u0", String.class, () -> "new"));
+        assertEquals("new", node2.get("todo-list", "u1199", String.class, () -> "new"));
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.todo.idempotency;
+
+import com.example.todo.cache.LocalCacheTier;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyStoreTest {
+
+    // 서버 두 대가 같은 공유 캐시(local 대역)를 보는 상황
+    LocalCacheTier shared = new LocalCacheTier(1000);
+    IdempotencyStore store = new IdempotencyStore(shared, new ObjectMapper(), 60, 60);
+    IdempotencyStore otherNode = new IdempotencyStore(shared, new ObjectMapper(), 60, 60);
+
+    AtomicInteger calls = new AtomicInteger();
+
+    ResponseEntity<?> signup(IdempotencyStore target, String key, String email) {
+        return target.execute("signup", key, email
+                , () -> ResponseEntity.ok("user" + calls.incrementAndGet())
+                , body -> (String) body
+                , id -> "rebuilt-" + id);
+    }
+
+    @Test
+    @DisplayName("같은 키로 다시 보내면 처리 없이 저장된 id로 다시 만든 응답을 받아야 한다")
+    void replayTest() {
+        //given
+        signup(store, "key-1", "a@b.com");
+        //when
+        ResponseEntity<?> replayed = signup(store, "key-1", "a@b.com");
+        //then
+        assertEquals(1, calls.get());
+        assertEquals("rebuilt-user1", replayed.getBody());
+        assertEquals("true", replayed.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+    }
+
+    @Test
+    @DisplayName("재시도가 다른 서버로 가도 다시 처리되지 않아야 한다")
+    void replayOnOtherNodeTest() {
+        //given
+        signup(store, "key-1", "a@b.com");
+        //when
+        ResponseEntity<?> replayed = signup(otherNode, "key-1", "a@b.com");
+        //then
+        assertEquals(1, calls.get());
+        assertEquals("rebuilt-user1", replayed.getBody());
+    }
+
+    @Test
+    @DisplayName("실패한 요청은 저장하지 않아서 같은 키로 다시 시도할 수 있어야 한다")
+    void failureNotStoredTest() {
+        //given
+        store.execute("signup", "key-1", "a@b.com", () -> ResponseEntity.internalServerError().build()
+                , body -> null, id -> null);
+        //when
+        ResponseEntity<?> retried = signup(store, "key-1", "a@b.com");
+        //then
+        assertEquals("user1", retried.getBody());
+        assertNull(retried.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+    }
+
+    @Test
+    @DisplayName("같은 키로 다른 요청을 보내면 422를 받아야 한다")
+    void fingerprintMismatchTest() {
+        //given
+        signup(store, "key-1", "a@b.com");
+        //when
+        ResponseEntity<?> response = signup(store, "key-1", "c@d.com");
+        //then
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("처음 요청이 처리중일 때 같은 키로 보내면 다른 서버에서도 409를 받아야 한다")
+    void inFlightTest() {
+        //given
+        ResponseEntity<?>[] nested = new ResponseEntity<?>[1];
+        //when
+        store.execute("signup", "key-1", "a@b.com", () -> {
+            nested[0] = signup(otherNode, "key-1", "a@b.com");
+            return ResponseEntity.ok("first");
+        }, body -> (String) body, id -> id);
+        //then
+        assertEquals(HttpStatus.CONFLICT, nested[0].getStatusCode());
+        assertEquals(0, calls.get());
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.todo.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalStorageServiceTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("저장한 파일은 하위폴더로 나뉘어 저장되고 같은 내용으로 읽혀야 한다")
+    void storeAndLoadTest() throws IOException {
+        //given
+        LocalStorageService storage = new LocalStorageService(dir.resolve("root").toString());
+        Path source = Files.write(dir.resolve("spool"), new byte[]{1, 2, 3});
+        //when
+        String location = storage.store(source, "abcdef_profile.png");
+        Resource loaded = storage.load(location);
+        //then
+        assertEquals("ab/cd/abcdef_profile.png", location);
+        try (InputStream in = loaded.getInputStream()) {
+            assertArrayEquals(new byte[]{1, 2, 3}, in.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("없는 파일은 null, 저장소 밖 경로는 예외가 나야 한다")
+    void missingAndTraversalTest() throws IOException {
+        //given
+        LocalStorageService storage = new LocalStorageService(dir.resolve("root").toString());
+        //when //then
+        assertNull(storage.load("ab/cd/none.png"));
+        assertThrows(IOException.class, () -> storage.load("../spool"));
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.todo.todoapi.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoListResponseDTOTest {
+
+    ObjectMapper json = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+    @Test
+    @DisplayName("성공 응답에는 error 필드가 없어야 한다")
+    void noErrorFieldTest() throws IOException {
+        //given
+        TodoListResponseDTO dto = TodoListResponseDTO.builder()
+                .todos(List.of(new TodoDetailResponseDTO("id", "장보기", false, 0)))
+                .build();
+        //when
+        String body = json.writeValueAsString(dto);
+        //then
+        assertFalse(body.contains("error"));
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.todo.todoapi.reminder;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimerWheelTest {
+
+    // 1초 틱, 휠 하나 4칸, 2단 -> 16초 앞까지 넣을 수 있음
+    HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(1000, 2, 2, 0);
+    List<String> fired = new ArrayList<>();
+
+    @Test
+    @DisplayName("예약은 만료 시간 전에는 나오지 않고 만료 시간이 되면 나와야 한다")
+    void fireAtDueTimeTest() {
+        //given
+        wheel.schedule("a", 3_000, "a");
+        //when
+        wheel.advance(2_999, fired::add);
+        List<String> before = new ArrayList<>(fired);
+        wheel.advance(3_000, fired::add);
+        //then
+        assertTrue(before.isEmpty());
+        assertEquals(List.of("a"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("윗단 휠에 있던 예약도 내려와서 정확한 틱에 나와야 한다")
+    void cascadeTest() {
+        //given
+        for (int sec = 1; sec <= 15; sec++) {
+            wheel.schedule("k" + sec, sec * 1000L, "k" + sec);
+        }
+        //when
+        //then
+        for (int sec = 1; sec <= 15; sec++) {
+            fired.clear();
+            wheel.advance(sec * 1000L, fired::add);
+            assertEquals(List.of("k" + sec), fired);
+        }
+    }
+
+    @Test
+    @DisplayName("취소한 예약은 나오지 않아야 한다")
+    void cancelTest() {
+        //given
+        wheel.schedule("a", 5_000, "a");
+        wheel.schedule("b", 5_000, "b");
+        //when
+        wheel.cancel("a");
+        wheel.advance(10_000, fired::add);
+        //then
+        assertEquals(List.of("b"), fired);
+    }
+
+    @Test
+    @DisplayName("같은 키로 다시 넣으면 시간과 값이 바뀌어야 한다")
+    void replaceTest() {
+        //given
+        wheel.schedule("a", 2_000, "old");
+        //when
+        wheel.schedule("a", 9_000, "new");
+        wheel.advance(8_000, fired::add);
+        List<String> before = new ArrayList<>(fired);
+        wheel.advance(9_000, fired::add);
+        //then
+        assertTrue(before.isEmpty());
+        assertEquals(List.of("new"), fired);
+    }
+
+    @Test
+    @DisplayName("scheduleIfAbsent는 이미 있는 예약을 바꾸지 않아야 한다")
+    void scheduleIfAbsentTest() {
+        //given
+        wheel.schedule("a", 2_000, "first");
+        //when
+        boolean added = wheel.scheduleIfAbsent("a", 4_000, "second");
+        wheel.advance(4_000, fired::add);
+        //then
+        assertFalse(added);
+        assertEquals(List.of("first"), fired);
+    }
+
+    @Test
+    @DisplayName("휠 범위를 넘는 예약은 받지 않고, 지난 시간은 다음 틱에 나와야 한다")
+    void rangeTest() {
+        //given
+        wheel.advance(10_000, fired::add);
+        //when
+        boolean tooFar = wheel.schedule("far", 26_000, "far");
+        boolean past = wheel.schedule("past", 1_000, "past");
+        wheel.advance(11_000, fired::add);
+        //then
+        assertFalse(tooFar);
+        assertTrue(past);
+        assertEquals(List.of("past"), fired);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.todo.todoapi.search;
+
+import com.example.todo.cache.CacheRegions;
+import com.example.todo.cache.LocalCacheTier;
+import com.example.todo.cache.TwoTierCache;
+import com.example.todo.todoapi.dto.response.TodoDetailResponseDTO;
+import com.example.todo.todoapi.entity.Todo;
+import com.example.todo.todoapi.event.TodoChangedEvent;
+import com.example.todo.todoapi.repository.TodoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TodoSearchIndexTest {
+
+    TodoRepository todoRepository = mock(TodoRepository.class);
+    // 서버 두 대가 같은 공유 캐시(local 대역)를 보는 상황 - 색인은 서버2에
+    LocalCacheTier shared = new LocalCacheTier(1000);
+    TwoTierCache node1 = new TwoTierCache(shared, new ObjectMapper(), new SimpleMeterRegistry(), 100, 30, 300);
+    TwoTierCache node2 = new TwoTierCache(shared, new ObjectMapper(), new SimpleMeterRegistry(), 100, 30, 300);
+    TodoSearchIndex index = new TodoSearchIndex(todoRepository, node2, 100);
+
+    @Test
+    @DisplayName("한글 제목을 단어 일부로 검색할 수 있어야 한다")
+    void searchHangulTest() {
+        //given
+        when(todoRepository.findAllByUserId("user1")).thenReturn(List.of(
+                Todo.builder().todoId("1").title("마트 장보기").build(),
+                Todo.builder().todoId("2").title("보고서 쓰기").build(),
+                Todo.builder().todoId("3").title("장 보러 가기").build()
+        ));
+        //when
+        List<TodoDetailResponseDTO> found = index.search("user1", "장보");
+        //then
+        assertEquals(1, found.size());
+        assertEquals("1", found.get(0).getId());
+    }
+
+    @Test
+    @DisplayName("색인은 처음 한번만 DB에서 만들고 이후 변경은 이벤트로 반영되어야 한다")
+    void incrementalUpdateTest() {
+        //given
+        when(todoRepository.findAllByUserId("user1")).thenReturn(List.of(
+                Todo.builder().todoId("1").title("마트 장보기").build()
+        ));
+        index.search("user1", "마트");
+
+        //when
+        index.onTodoChanged(new TodoChangedEvent(TodoChangedEvent.Type.CREATED, "user1", "2"
+                , new TodoDetailResponseDTO("2", "마트 전단지 보기", false, 0)));
+        index.onTodoChanged(new TodoChangedEvent(TodoChangedEvent.Type.DELETED, "user1", "1", null));
+
+        //then
+        List<TodoDetailResponseDTO> found = index.search("user1", "마트");
+        assertEquals(1, found.size());
+        assertEquals("2", found.get(0).getId());
+        verify(todoRepository, times(1)).findAllByUserId("user1");
+    }
+
+    @Test
+    @DisplayName("다른 서버에서 목록이 바뀌면 색인을 버리고 다음 검색 때 DB에서 다시 만들어야 한다")
+    void remoteChangeTest() {
+        //given
+        when(todoRepository.findAllByUserId("user1")).thenReturn(List.of(
+                Todo.builder().todoId("1").title("마트 장보기").build()
+        ));
+        index.search("user1", "마트");
+        when(todoRepository.findAllByUserId("user1")).thenReturn(List.of());
+
+        //when - 서버1에서 삭제되고 목록 버전이 무효화됨
+        node1.evictAll(CacheRegions.TODO_LIST_VERSION, List.of("user1"));
+
+        //then
+        assertTrue(index.search("user1", "마트").isEmpty());
+        verify(todoRepository, times(2)).findAllByUserId("user1");
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.todo.todoapi.service;
+
+import com.example.todo.cache.CacheRegions;
+import com.example.todo.cache.LocalCacheTier;
+import com.example.todo.cache.TwoTierCache;
+import com.example.todo.todoapi.event.TodoChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoListVersionTrackerTest {
+
+    // 서버 두 대가 같은 공유 캐시(local 대역)를 보는 상황
+    LocalCacheTier shared = new LocalCacheTier(1000);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    TwoTierCache cache1 = new TwoTierCache(shared, new ObjectMapper(), registry, 100, 30, 300);
+    TwoTierCache cache2 = new TwoTierCache(shared, new ObjectMapper(), registry, 100, 30, 300);
+    TodoListVersionTracker node1 = new TodoListVersionTracker(cache1);
+    TodoListVersionTracker node2 = new TodoListVersionTracker(cache2);
+
+    @Test
+    @DisplayName("목록이 안 바뀌었으면 어느 서버에서 읽어도 같은 ETag여야 한다")
+    void sameTagAcrossNodesTest() {
+        //given
+        String tag = node1.currentTag("user1");
+        //when
+        String other = node2.currentTag("user1");
+        //then
+        assertEquals(tag, other);
+    }
+
+    @Test
+    @DisplayName("한 서버에서 목록이 바뀌면 다른 서버의 ETag도 바뀌어야 한다")
+    void changedTagAcrossNodesTest() {
+        //given
+        String before = node2.currentTag("user1");
+        //when
+        node1.onTodoChanged(new TodoChangedEvent(TodoChangedEvent.Type.CREATED, "user1", "todo1", null));
+        //then
+        assertNotEquals(before, node2.currentTag("user1"));
+        assertEquals(node1.currentTag("user1"), node2.currentTag("user1"));
+    }
+
+    @Test
+    @DisplayName("목록이 바뀌기 전에 읽은 목록을 다른 서버가 늦게 캐싱해도 새 버전으로는 읽히지 않아야 한다")
+    void lateStaleWriteTest() {
+        //given - 서버2가 버전을 읽고 DB에서 옛 목록을 읽는 중
+        String staleKey = node2.listCacheKey("user1");
+        //when - 그 사이 서버1에서 목록이 바뀌고, 서버2가 옛 목록을 늦게 캐싱
+        node1.onTodoChanged(new TodoChangedEvent(TodoChangedEvent.Type.CREATED, "user1", "todo1", null));
+        cache2.get(CacheRegions.TODO_LIST, staleKey, String.class, () -> "old");
+        //then
+        assertEquals("new", cache1.get(CacheRegions.TODO_LIST, node1.listCacheKey("user1"), String.class, () -> "new"));
+    }
+}
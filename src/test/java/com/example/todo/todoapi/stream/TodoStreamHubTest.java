@@ -0,0 +1,67 @@
+package com.example.todo.todoapi.stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoStreamHubTest {
+
+    TodoStreamHub hub = new TodoStreamHub(60_000, 64, 20_000, 10, 100, 600_000, 50_000, 4);
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    @Test
+    @DisplayName("재연결하면 마지막으로 받은 이벤트 이후의 것만 다시 받아야 한다")
+    void replayTest() {
+        //given
+        TodoEventReplayBuffer buffer = new TodoEventReplayBuffer(3);
+        for (long seq = 1; seq <= 4; seq++) {
+            buffer.add(new TodoStreamEvent("e-" + seq, seq, "created", null));
+        }
+        //when
+        List<TodoStreamEvent> missed = buffer.since(2);
+        List<TodoStreamEvent> tooOld = buffer.since(0);
+        //then
+        assertEquals(2, missed.size());
+        assertEquals(3, missed.get(0).getSequence());
+        assertNull(tooOld); // 1번은 이미 밀려나서 이어받을 수 없음
+    }
+
+    @Test
+    @DisplayName("만료 후 새로 만든 재연결 버퍼는 만들기 전 이벤트 id로 이어받을 수 없어야 한다")
+    void replayAfterExpireTest() {
+        //given
+        TodoEventReplayBuffer buffer = new TodoEventReplayBuffer(3, 10);
+        buffer.add(new TodoStreamEvent("e-11", 11, "created", null));
+        //when
+        List<TodoStreamEvent> missed = buffer.since(10);
+        List<TodoStreamEvent> expired = buffer.since(5);
+        //then
+        assertEquals(1, missed.size());
+        assertNull(expired); // 6~10번 중 이 회원 것이 있었는지 모름 -> 목록을 다시 받아야 함
+    }
+
+    @Test
+    @DisplayName("구독자 수 제한을 넘으면 더 구독할 수 없어야 한다")
+    void subscriberLimitTest() {
+        //given
+        TodoStreamHub small = new TodoStreamHub(60_000, 64, 3, 2, 10, 600_000, 100, 1);
+        small.subscribe("user0", null);
+        small.subscribe("user0", null);
+        small.subscribe("user1", null);
+        //when
+        IllegalStateException perUser = assertThrows(IllegalStateException.class, () -> small.subscribe("user0", null));
+        IllegalStateException total = assertThrows(IllegalStateException.class, () -> small.subscribe("user2", null));
+        //then
+        assertEquals(3, small.getSubscriberCount());
+        assertNotEquals(perUser.getMessage(), total.getMessage()); // 회원당 제한과 서버 전체 제한은 따로 걸림
+        small.shutdown();
+    }
+}
@@ -36,7 +36,7 @@ class UserServiceTest {
         // param 1 : 어떤 에러가 발생할지 에러클래스를 적음
         // param 2 : 에러가 발생하는 상황을 전달
         assertThrows(RuntimeException.class,
-                () -> {userService.create(dto, "");}
+                () -> {userService.create(dto, null);}
         );
 
     }